@@ -1,23 +1,83 @@
 package example.config;
 
 
-import example.entity.User;
 import example.repository.UserRepository;
+import example.service.UserService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
 import org.springframework.stereotype.Component;
 
+import java.util.concurrent.Executor;
+
+/**
+ * Seeds sample data. By default seeding runs in the background so that it does not
+ * delay startup; until it completes this indicator reports {@code OUT_OF_SERVICE},
+ * which keeps the readiness probe down.
+ */
 @Component
-public class DataLoader implements CommandLineRunner {
+public class DataLoader implements CommandLineRunner, HealthIndicator {
+
+    private static final Logger logger = LoggerFactory.getLogger(DataLoader.class);
 
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    @Qualifier("applicationTaskExecutor")
+    private Executor executor;
+
+    @Value("${app.data-loader.async:true}")
+    private boolean async;
+
+    private volatile boolean loaded;
+
+    private volatile Exception failure;
+
     @Override
     public void run(String... args) throws Exception {
-        // Load some sample data
-        userRepository.save(new User("John Doe", "john.doe@example.com"));
-        userRepository.save(new User("Jane Smith", "jane.smith@example.com"));
-        userRepository.save(new User("Bob Johnson", "bob.johnson@example.com"));
+        if (async) {
+            executor.execute(this::loadSafely);
+        } else {
+            load();
+        }
+    }
+
+    private void loadSafely() {
+        try {
+            load();
+        } catch (Exception ex) {
+            failure = ex;
+            logger.error("Failed to load sample data", ex);
+        }
+    }
+
+    private void load() {
+        // Load some sample data, unless a persistent store already has users
+        if (userRepository.count() == 0) {
+            userService.createUser("John Doe", "john.doe@example.com");
+            userService.createUser("Jane Smith", "jane.smith@example.com");
+            userService.createUser("Bob Johnson", "bob.johnson@example.com");
+        }
+        loaded = true;
+    }
+
+    @Override
+    public Health health() {
+        if (loaded) {
+            return Health.up().build();
+        }
+        if (failure != null) {
+            return Health.down(failure).build();
+        }
+        return Health.outOfService().withDetail("reason", "Sample data is being loaded").build();
     }
 }
\ No newline at end of file
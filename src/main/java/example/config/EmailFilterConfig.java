@@ -0,0 +1,26 @@
+package example.config;
+
+import example.repository.UserRepository;
+import example.service.EmailBloomFilter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Creates the {@link EmailBloomFilter} used to reject taken emails, seeded with the
+ * emails of the users already in the store.
+ */
+@Configuration
+public class EmailFilterConfig {
+
+    @Bean
+    public EmailBloomFilter emailBloomFilter(UserRepository userRepository,
+            @Value("${app.email-filter.expected-emails}") int expectedEmails,
+            @Value("${app.email-filter.false-positive-rate}") double falsePositiveRate) {
+        EmailBloomFilter filter = new EmailBloomFilter(expectedEmails, falsePositiveRate);
+        for (String email : userRepository.findAllEmails()) {
+            filter.add(email);
+        }
+        return filter;
+    }
+}
@@ -0,0 +1,31 @@
+package example.config;
+
+import example.graphql.BatchGraphQlHttpHandler;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.function.RequestPredicates;
+import org.springframework.web.servlet.function.RouterFunction;
+import org.springframework.web.servlet.function.RouterFunctions;
+import org.springframework.web.servlet.function.ServerResponse;
+
+@Configuration
+public class GraphQlHttpConfig {
+
+    /**
+     * Takes over JSON POST requests to the GraphQL endpoint ahead of the auto-configured
+     * router so that batched operations can be accepted on the same path. Single
+     * operations are still handled by the auto-configured handler.
+     */
+    @Bean
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public RouterFunction<ServerResponse> graphQlBatchRouterFunction(
+            BatchGraphQlHttpHandler batchHandler, @Value("${spring.graphql.http.path:/graphql}") String path) {
+        return RouterFunctions.route()
+                .POST(path, RequestPredicates.contentType(MediaType.APPLICATION_JSON), batchHandler::handleRequest)
+                .build();
+    }
+}
@@ -0,0 +1,30 @@
+package example.config;
+
+import example.repository.InMemoryUserRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+
+/**
+ * Keeps users in memory, backed by a journal in {@code app.memory-store.directory},
+ * when {@code app.user-store=memory}.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.user-store", havingValue = "memory")
+public class MemoryStoreConfig {
+
+    @Bean
+    @Primary
+    public InMemoryUserRepository inMemoryUserRepository(
+            @Value("${app.memory-store.directory}") Path directory,
+            @Value("${app.memory-store.journal-size}") DataSize journalSize,
+            @Value("${app.memory-store.snapshot-every}") int snapshotEvery,
+            @Value("${app.memory-store.force-writes}") boolean forceWrites) {
+        return new InMemoryUserRepository(directory, Math.toIntExact(journalSize.toBytes()), snapshotEvery, forceWrites);
+    }
+}
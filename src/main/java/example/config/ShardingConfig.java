@@ -0,0 +1,45 @@
+package example.config;
+
+import example.repository.ShardedUserRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Stores users in {@code app.sharding.shards} separate databases when
+ * {@code app.user-store=sharded}.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.user-store", havingValue = "sharded")
+public class ShardingConfig {
+
+    @Bean
+    @Primary
+    public ShardedUserRepository shardedUserRepository(
+            @Value("${app.sharding.shards}") int shardCount,
+            @Value("${app.sharding.url-pattern}") String urlPattern,
+            @Value("${spring.datasource.username}") String username,
+            @Value("${spring.datasource.password}") String password) {
+        List<DataSource> shards = new ArrayList<>();
+        for (int i = 0; i < shardCount; i++) {
+            shards.add(DataSourceBuilder.create()
+                    .url(String.format(urlPattern, i))
+                    .username(username)
+                    .password(password)
+                    .build());
+        }
+        // Shard queries get their own threads: scatter() blocks on them, and sharing a
+        // bounded pool with the callers could leave every thread waiting on queued shard queries
+        ExecutorService executor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("shard-query-", 0).factory());
+        return new ShardedUserRepository(shards, executor);
+    }
+}
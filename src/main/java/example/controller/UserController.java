@@ -18,18 +18,18 @@ public class UserController {
     private UserService userService;
 
     @QueryMapping
-    public List<User> users() {
-        return userService.getAllUsers();
+    public List<User> users(@Argument UUID after, @Argument Integer first) {
+        return userService.getUsers(after, first);
     }
 
     @QueryMapping
-    public User user(@Argument String id) {
-        try {
-            UUID uuid = UUID.fromString(id);
-            return userService.getUserById(uuid).orElse(null);
-        } catch (IllegalArgumentException e) {
-            return null;
-        }
+    public User user(@Argument UUID id) {
+        return userService.getUserById(id).orElse(null);
+    }
+
+    @QueryMapping
+    public User userByEmail(@Argument String email) {
+        return userService.getUserByEmail(email).orElse(null);
     }
 
     @MutationMapping
@@ -38,22 +38,12 @@ public class UserController {
     }
 
     @MutationMapping
-    public User updateUser(@Argument String id, @Argument String name, @Argument String email) {
-        try {
-            UUID uuid = UUID.fromString(id);
-            return userService.updateUser(uuid, name, email);
-        } catch (IllegalArgumentException e) {
-            throw new RuntimeException("Invalid UUID format");
-        }
+    public User updateUser(@Argument UUID id, @Argument String name, @Argument String email) {
+        return userService.updateUser(id, name, email);
     }
 
     @MutationMapping
-    public Boolean deleteUser(@Argument String id) {
-        try {
-            UUID uuid = UUID.fromString(id);
-            return userService.deleteUser(uuid);
-        } catch (IllegalArgumentException e) {
-            return false;
-        }
+    public Boolean deleteUser(@Argument UUID id) {
+        return userService.deleteUser(id);
     }
 }
\ No newline at end of file
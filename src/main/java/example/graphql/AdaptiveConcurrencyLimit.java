@@ -0,0 +1,96 @@
+package example.graphql;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Gradient based concurrency limit. The limit grows while the latency of recent
+ * requests stays close to the long term average and shrinks as soon as latency
+ * starts to climb, which is the sign of requests queueing up behind a slow resource
+ * such as the database.
+ */
+public class AdaptiveConcurrencyLimit {
+
+    private static final double SMOOTHING = 0.2;
+    private static final double RTT_TOLERANCE = 1.5;
+    private static final int LONG_WINDOW = 600;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final AtomicInteger inflight = new AtomicInteger();
+
+    private volatile double estimatedLimit;
+    private volatile double longRttNanos;
+
+    public AdaptiveConcurrencyLimit(int initialLimit, int minLimit, int maxLimit) {
+        if (minLimit < 1 || minLimit > maxLimit) {
+            throw new IllegalArgumentException("Invalid limit range [" + minLimit + ", " + maxLimit + "]");
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.estimatedLimit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+    }
+
+    /**
+     * Reserves a slot for a request.
+     * @return {@code false} if the limit is reached and the request should be rejected
+     */
+    public boolean tryAcquire() {
+        int limit = getLimit();
+        while (true) {
+            int current = inflight.get();
+            if (current >= limit) {
+                return false;
+            }
+            if (inflight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Releases a slot previously reserved with {@link #tryAcquire()} and feeds the
+     * observed latency of the request into the limit estimate.
+     */
+    public void release(long rttNanos) {
+        int inflightAtRelease = inflight.getAndDecrement();
+        update(Math.max(1, rttNanos), inflightAtRelease);
+    }
+
+    private synchronized void update(long rttNanos, int inflightAtRelease) {
+        double longRtt = longRttNanos;
+        longRtt = (longRtt == 0) ? rttNanos : longRtt + (rttNanos - longRtt) / LONG_WINDOW;
+
+        // Let the long term average recover faster once the load goes away
+        if (longRtt / rttNanos > 2) {
+            longRtt *= 0.95;
+        }
+        longRttNanos = longRtt;
+
+        double limit = estimatedLimit;
+        // Don't grow the limit while the application isn't using it
+        if (inflightAtRelease < limit / 2) {
+            return;
+        }
+
+        double gradient = Math.max(0.5, Math.min(1.0, RTT_TOLERANCE * longRtt / rttNanos));
+        double newLimit = limit * gradient + Math.sqrt(limit);
+        newLimit = limit * (1 - SMOOTHING) + newLimit * SMOOTHING;
+        estimatedLimit = Math.max(minLimit, Math.min(maxLimit, newLimit));
+    }
+
+    public int getLimit() {
+        return (int) estimatedLimit;
+    }
+
+    public int getInflight() {
+        return inflight.get();
+    }
+
+    /**
+     * Suggested delay before a rejected request is retried, based on the long term
+     * average latency.
+     */
+    public long getRetryAfterMillis() {
+        return Math.max(1, Math.round(longRttNanos / 1_000_000));
+    }
+}
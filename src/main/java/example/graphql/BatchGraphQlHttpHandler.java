@@ -0,0 +1,239 @@
+package example.graphql;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import graphql.ExecutionResult;
+import graphql.GraphqlErrorBuilder;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.graphql.execution.ErrorType;
+import org.springframework.graphql.server.WebGraphQlHandler;
+import org.springframework.graphql.server.WebGraphQlRequest;
+import org.springframework.graphql.server.support.SerializableGraphQlRequest;
+import org.springframework.graphql.server.webmvc.GraphQlHttpHandler;
+import org.springframework.http.HttpCookie;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AlternativeJdkIdGenerator;
+import org.springframework.util.IdGenerator;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.servlet.function.ServerRequest;
+import org.springframework.web.servlet.function.ServerResponse;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Executor;
+
+/**
+ * GraphQL over HTTP handler that accepts a JSON array of operations in a single POST
+ * in addition to the regular single operation request, which is passed on to the
+ * {@link GraphQlHttpHandler}.
+ *
+ * <p>Queries in a batch are executed in parallel. Mutations act as barriers: each
+ * mutation waits for the operations before it, and operations after it see its
+ * effects. Results are returned as an array in the order of the operations, and the
+ * response headers set for the individual operations are merged into the response.
+ * An operation that fails with an exception gets an error result in its slot, so the
+ * results of the other operations are still returned.
+ */
+@Component
+public class BatchGraphQlHttpHandler {
+
+    private static final Logger logger = LoggerFactory.getLogger(BatchGraphQlHttpHandler.class);
+
+    private static final TypeReference<List<SerializableGraphQlRequest>> BATCH_TYPE = new TypeReference<>() {};
+
+    @Autowired
+    private WebGraphQlHandler webGraphQlHandler;
+
+    @Autowired
+    private GraphQlHttpHandler graphQlHttpHandler;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    @Qualifier("applicationTaskExecutor")
+    private Executor executor;
+
+    @Value("${app.graphql.batch.max-size:20}")
+    private int maxBatchSize;
+
+    private final IdGenerator idGenerator = new AlternativeJdkIdGenerator();
+
+    private Scheduler scheduler;
+
+    @PostConstruct
+    void initScheduler() {
+        scheduler = Schedulers.fromExecutor(executor);
+    }
+
+    public ServerResponse handleRequest(ServerRequest request) throws Exception {
+        byte[] body = request.body(byte[].class);
+        if (!isBatch(body)) {
+            return graphQlHttpHandler.handleRequest(ServerRequest.from(request).body(body).build());
+        }
+        try {
+            return handleBatch(request, body);
+        } catch (JsonProcessingException ex) {
+            return badRequest("Invalid GraphQL request body: " + ex.getOriginalMessage());
+        }
+    }
+
+    private ServerResponse handleBatch(ServerRequest request, byte[] body) throws IOException {
+        List<SerializableGraphQlRequest> operations = objectMapper.readValue(body, BATCH_TYPE);
+        if (operations.isEmpty() || operations.size() > maxBatchSize) {
+            return badRequest("Batch must contain between 1 and " + maxBatchSize + " operations");
+        }
+
+        Mono<List<OperationResult>> results = execute(request, operations);
+        return ServerResponse.async(results.map(list -> ServerResponse.ok()
+                .headers(headers -> headers.putAll(mergeHeaders(list)))
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(list.stream().map(result -> result.executionResult().toSpecification()).toList())));
+    }
+
+    private Mono<List<OperationResult>> execute(ServerRequest request, List<SerializableGraphQlRequest> operations) {
+        MultiValueMap<String, HttpCookie> cookies = cookies(request);
+        Locale locale = LocaleContextHolder.getLocale();
+
+        // Consecutive queries form a segment that runs in parallel, each mutation is a segment of its own
+        List<List<Mono<OperationResult>>> segments = new ArrayList<>();
+        List<Mono<OperationResult>> queries = new ArrayList<>();
+        for (SerializableGraphQlRequest operation : operations) {
+            Mono<OperationResult> result = Mono.defer(() -> webGraphQlHandler.handleRequest(
+                            webGraphQlRequest(request, operation, cookies, locale)))
+                    .map(response -> new OperationResult(response.getExecutionResult(), response.getResponseHeaders()));
+
+            if (GraphQlOperationType.of(operation.getQuery(), operation.getOperationName()) == GraphQlOperationType.MUTATION) {
+                if (!queries.isEmpty()) {
+                    segments.add(queries);
+                    queries = new ArrayList<>();
+                }
+                segments.add(List.of(result.onErrorResume(BatchGraphQlHttpHandler::failedOperation)));
+            } else {
+                // After subscribeOn, so that a rejection by the executor also fails only this operation
+                queries.add(result.subscribeOn(scheduler).onErrorResume(BatchGraphQlHttpHandler::failedOperation));
+            }
+        }
+        if (!queries.isEmpty()) {
+            segments.add(queries);
+        }
+
+        return Flux.fromIterable(segments)
+                .concatMap(segment -> Flux.mergeSequential(segment))
+                .collectList();
+    }
+
+    /**
+     * Turns an exception from a single operation into an error result for its slot. Invalid
+     * requests report their message, anything else is logged and reported as an internal error.
+     */
+    private static Mono<OperationResult> failedOperation(Throwable ex) {
+        if (ex instanceof IllegalArgumentException) {
+            return Mono.just(new OperationResult(errorResult(ex.getMessage()), HttpHeaders.EMPTY));
+        }
+        logger.error("Batched operation failed", ex);
+        ExecutionResult result = ExecutionResult.newExecutionResult()
+                .addError(GraphqlErrorBuilder.newError()
+                        .message("Internal error")
+                        .errorType(ErrorType.INTERNAL_ERROR)
+                        .build())
+                .build();
+        return Mono.just(new OperationResult(result, HttpHeaders.EMPTY));
+    }
+
+    /**
+     * Combines the response headers of all operations. For {@code Retry-After} the
+     * longest delay wins, so a client that backs off respects every rejected operation.
+     */
+    private static HttpHeaders mergeHeaders(List<OperationResult> results) {
+        HttpHeaders merged = new HttpHeaders();
+        long retryAfterSeconds = -1;
+        for (OperationResult result : results) {
+            for (Map.Entry<String, List<String>> header : result.headers().entrySet()) {
+                if (HttpHeaders.RETRY_AFTER.equalsIgnoreCase(header.getKey())) {
+                    for (String value : header.getValue()) {
+                        retryAfterSeconds = Math.max(retryAfterSeconds, parseSeconds(value));
+                    }
+                    continue;
+                }
+                for (String value : header.getValue()) {
+                    if (!merged.getOrEmpty(header.getKey()).contains(value)) {
+                        merged.add(header.getKey(), value);
+                    }
+                }
+            }
+        }
+        if (retryAfterSeconds >= 0) {
+            merged.set(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        }
+        return merged;
+    }
+
+    private static long parseSeconds(String value) {
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException ex) {
+            // An HTTP date, which the concurrency limit does not use
+            return -1;
+        }
+    }
+
+    private WebGraphQlRequest webGraphQlRequest(ServerRequest request, SerializableGraphQlRequest operation,
+                                                MultiValueMap<String, HttpCookie> cookies, Locale locale) {
+        return new WebGraphQlRequest(
+                request.uri(), request.headers().asHttpHeaders(), cookies,
+                request.remoteAddress().orElse(null), request.attributes(), operation,
+                idGenerator.generateId().toString(), locale);
+    }
+
+    private static boolean isBatch(byte[] body) {
+        for (byte b : body) {
+            if (b == '[') {
+                return true;
+            }
+            if (b != ' ' && b != '\t' && b != '\r' && b != '\n') {
+                return false;
+            }
+        }
+        return false;
+    }
+
+    private static MultiValueMap<String, HttpCookie> cookies(ServerRequest request) {
+        MultiValueMap<String, HttpCookie> cookies = new LinkedMultiValueMap<>();
+        request.cookies().forEach((name, values) ->
+                values.forEach(cookie -> cookies.add(name, new HttpCookie(name, cookie.getValue()))));
+        return cookies;
+    }
+
+    private static ServerResponse badRequest(String message) {
+        return ServerResponse.badRequest()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(errorResult(message).toSpecification());
+    }
+
+    private record OperationResult(ExecutionResult executionResult, HttpHeaders headers) {
+    }
+
+    private static ExecutionResult errorResult(String message) {
+        return ExecutionResult.newExecutionResult()
+                .addError(GraphqlErrorBuilder.newError().message(message).build())
+                .build();
+    }
+}
@@ -0,0 +1,107 @@
+package example.graphql;
+
+import graphql.ExecutionResult;
+import graphql.GraphQLError;
+import graphql.GraphqlErrorBuilder;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.graphql.server.WebGraphQlInterceptor;
+import org.springframework.graphql.server.WebGraphQlRequest;
+import org.springframework.graphql.server.WebGraphQlResponse;
+import org.springframework.graphql.support.DefaultExecutionGraphQlResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+
+/**
+ * Admission control for GraphQL over HTTP. Queries and mutations each get their own
+ * {@link AdaptiveConcurrencyLimit}, and operations over the limit are rejected right
+ * away with an {@link GraphQlErrorType#OVERLOADED} error instead of piling up in the
+ * servlet container while the database is slow. It runs ahead of other interceptors,
+ * so rejected operations cost nothing beyond the rejection.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@ConditionalOnProperty(name = "app.graphql.concurrency.enabled", havingValue = "true", matchIfMissing = true)
+public class ConcurrencyLimitInterceptor implements WebGraphQlInterceptor {
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${app.graphql.concurrency.initial-limit:20}")
+    private int initialLimit;
+
+    @Value("${app.graphql.concurrency.min-limit:4}")
+    private int minLimit;
+
+    @Value("${app.graphql.concurrency.max-limit:200}")
+    private int maxLimit;
+
+    private final Map<GraphQlOperationType, AdaptiveConcurrencyLimit> limits = new EnumMap<>(GraphQlOperationType.class);
+
+    private final Map<GraphQlOperationType, Counter> rejections = new EnumMap<>(GraphQlOperationType.class);
+
+    @PostConstruct
+    void initLimits() {
+        for (GraphQlOperationType type : EnumSet.of(GraphQlOperationType.QUERY, GraphQlOperationType.MUTATION)) {
+            AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(initialLimit, minLimit, maxLimit);
+            String tag = type.name().toLowerCase();
+            Gauge.builder("graphql.concurrency.limit", limit, AdaptiveConcurrencyLimit::getLimit)
+                    .description("Current adaptive concurrency limit")
+                    .tag("operation", tag)
+                    .register(meterRegistry);
+            Gauge.builder("graphql.concurrency.inflight", limit, AdaptiveConcurrencyLimit::getInflight)
+                    .description("Operations currently admitted and executing")
+                    .tag("operation", tag)
+                    .register(meterRegistry);
+            limits.put(type, limit);
+            rejections.put(type, Counter.builder("graphql.concurrency.rejected")
+                    .description("Operations rejected by the concurrency limit")
+                    .tag("operation", tag)
+                    .register(meterRegistry));
+        }
+    }
+
+    @Override
+    public Mono<WebGraphQlResponse> intercept(WebGraphQlRequest request, Chain chain) {
+        GraphQlOperationType type = GraphQlOperationType.of(request.getDocument(), request.getOperationName());
+        AdaptiveConcurrencyLimit limit = limits.get(type);
+        if (limit == null) {
+            // Subscriptions are long-lived and not subject to the limit
+            return chain.next(request);
+        }
+        return Mono.defer(() -> {
+            if (!limit.tryAcquire()) {
+                rejections.get(type).increment();
+                return Mono.just(rejected(request, limit.getRetryAfterMillis()));
+            }
+            long start = System.nanoTime();
+            return chain.next(request).doFinally(signal -> limit.release(System.nanoTime() - start));
+        });
+    }
+
+    private WebGraphQlResponse rejected(WebGraphQlRequest request, long retryAfterMillis) {
+        GraphQLError error = GraphqlErrorBuilder.newError()
+                .message("Server is overloaded, retry after " + retryAfterMillis + " ms")
+                .errorType(GraphQlErrorType.OVERLOADED)
+                .extensions(Map.<String, Object>of("retryAfterMillis", retryAfterMillis))
+                .build();
+        ExecutionResult result = ExecutionResult.newExecutionResult().addError(error).build();
+        WebGraphQlResponse response = new WebGraphQlResponse(
+                new DefaultExecutionGraphQlResponse(request.toExecutionInput(), result));
+        response.getResponseHeaders().set(HttpHeaders.RETRY_AFTER,
+                String.valueOf(Math.max(1, (retryAfterMillis + 999) / 1000)));
+        return response;
+    }
+}
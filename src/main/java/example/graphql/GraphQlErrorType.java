@@ -0,0 +1,28 @@
+package example.graphql;
+
+import graphql.ErrorClassification;
+
+/**
+ * Error classifications used by this application in addition to the ones defined in
+ * {@link org.springframework.graphql.execution.ErrorType}.
+ */
+public enum GraphQlErrorType implements ErrorClassification {
+
+    /**
+     * An argument value is malformed, for example an ID variable that is not a valid
+     * UUID. Used as the {@code code} extension of variable coercion errors, which
+     * graphql-java classifies as {@code ValidationError}.
+     */
+    BAD_USER_INPUT,
+
+    /**
+     * The email of a created or updated user already belongs to another user.
+     */
+    EMAIL_TAKEN,
+
+    /**
+     * The server is at its concurrency limit and rejected the operation without
+     * executing it. The operation can be retried after the hinted delay.
+     */
+    OVERLOADED
+}
@@ -0,0 +1,34 @@
+package example.graphql;
+
+import example.service.EmailTakenException;
+import example.service.UserNotFoundException;
+import graphql.GraphQLError;
+import graphql.GraphqlErrorBuilder;
+import graphql.schema.DataFetchingEnvironment;
+import org.springframework.graphql.execution.DataFetcherExceptionResolverAdapter;
+import org.springframework.graphql.execution.ErrorType;
+import org.springframework.stereotype.Component;
+
+/**
+ * Maps service exceptions to typed GraphQL errors.
+ */
+@Component
+public class GraphQlExceptionResolver extends DataFetcherExceptionResolverAdapter {
+
+    @Override
+    protected GraphQLError resolveToSingleError(Throwable ex, DataFetchingEnvironment env) {
+        if (ex instanceof UserNotFoundException) {
+            return GraphqlErrorBuilder.newError(env)
+                    .errorType(ErrorType.NOT_FOUND)
+                    .message(ex.getMessage())
+                    .build();
+        }
+        if (ex instanceof EmailTakenException) {
+            return GraphqlErrorBuilder.newError(env)
+                    .errorType(GraphQlErrorType.EMAIL_TAKEN)
+                    .message(ex.getMessage())
+                    .build();
+        }
+        return null;
+    }
+}
@@ -0,0 +1,148 @@
+package example.graphql;
+
+/**
+ * Operation type of a GraphQL request, determined with a lightweight scan of the
+ * document instead of a full parse, so it can be used before execution starts.
+ */
+public enum GraphQlOperationType {
+    QUERY,
+    MUTATION,
+    SUBSCRIPTION;
+
+    /**
+     * Returns the type of the operation that will be executed for the given document.
+     * If {@code operationName} is {@code null} the first operation is used. Documents
+     * that cannot be classified are treated as queries and left to the validator.
+     */
+    public static GraphQlOperationType of(String document, String operationName) {
+        if (document == null) {
+            return QUERY;
+        }
+        int length = document.length();
+        int i = 0;
+        while (i < length) {
+            char c = document.charAt(i);
+            if (isIgnored(c)) {
+                i++;
+            } else if (c == '#') {
+                i = skipComment(document, i);
+            } else if (c == '{') {
+                // Anonymous query shorthand
+                if (operationName == null) {
+                    return QUERY;
+                }
+                i = skipBlock(document, i);
+            } else if (isNameStart(c)) {
+                int end = nameEnd(document, i);
+                GraphQlOperationType type = keyword(document, i, end);
+                i = end;
+                if (type != null && (operationName == null || nameFollows(document, i, operationName))) {
+                    return type;
+                }
+                // Skip the rest of the definition (name, variables, directives, selection set)
+                int open = document.indexOf('{', i);
+                if (open < 0) {
+                    return QUERY;
+                }
+                i = skipBlock(document, open);
+            } else if (c == '"') {
+                i = skipString(document, i);
+            } else {
+                i++;
+            }
+        }
+        return QUERY;
+    }
+
+    private static GraphQlOperationType keyword(String document, int start, int end) {
+        int length = end - start;
+        if (length == 5 && document.startsWith("query", start)) {
+            return QUERY;
+        }
+        if (length == 8 && document.startsWith("mutation", start)) {
+            return MUTATION;
+        }
+        if (length == 12 && document.startsWith("subscription", start)) {
+            return SUBSCRIPTION;
+        }
+        return null;
+    }
+
+    private static boolean nameFollows(String document, int i, String name) {
+        int length = document.length();
+        while (i < length && isIgnored(document.charAt(i))) {
+            i++;
+        }
+        int end = i + name.length();
+        return document.startsWith(name, i) && (end == length || !isNamePart(document.charAt(end)));
+    }
+
+    private static int skipBlock(String document, int open) {
+        int depth = 0;
+        int length = document.length();
+        int i = open;
+        while (i < length) {
+            char c = document.charAt(i);
+            if (c == '"') {
+                i = skipString(document, i);
+                continue;
+            }
+            if (c == '#') {
+                i = skipComment(document, i);
+                continue;
+            }
+            if (c == '{') {
+                depth++;
+            } else if (c == '}' && --depth == 0) {
+                return i + 1;
+            }
+            i++;
+        }
+        return length;
+    }
+
+    private static int skipString(String document, int quote) {
+        int length = document.length();
+        if (document.startsWith("\"\"\"", quote)) {
+            int end = document.indexOf("\"\"\"", quote + 3);
+            return end < 0 ? length : end + 3;
+        }
+        int i = quote + 1;
+        while (i < length) {
+            char c = document.charAt(i);
+            if (c == '\\') {
+                i += 2;
+            } else if (c == '"' || c == '\n') {
+                return i + 1;
+            } else {
+                i++;
+            }
+        }
+        return length;
+    }
+
+    private static int skipComment(String document, int hash) {
+        int end = document.indexOf('\n', hash);
+        return end < 0 ? document.length() : end + 1;
+    }
+
+    private static int nameEnd(String document, int start) {
+        int i = start + 1;
+        while (i < document.length() && isNamePart(document.charAt(i))) {
+            i++;
+        }
+        return i;
+    }
+
+    private static boolean isIgnored(char c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == '\r' || c == ',' || c == '\uFEFF';
+    }
+
+    private static boolean isNameStart(char c) {
+        return c == '_' || (c >= 'A' && c <= 'Z') || (c >= 'a' && c <= 'z');
+    }
+
+    private static boolean isNamePart(char c) {
+        return isNameStart(c) || (c >= '0' && c <= '9');
+    }
+}
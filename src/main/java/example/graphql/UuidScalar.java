@@ -0,0 +1,154 @@
+package example.graphql;
+
+import graphql.GraphQLContext;
+import graphql.execution.CoercedVariables;
+import graphql.language.StringValue;
+import graphql.language.Value;
+import graphql.schema.Coercing;
+import graphql.schema.CoercingParseLiteralException;
+import graphql.schema.CoercingParseValueException;
+import graphql.schema.CoercingSerializeException;
+import graphql.schema.GraphQLScalarType;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * {@code UUID} scalar, so IDs are parsed once while arguments are coerced and
+ * resolvers receive {@link UUID} values. Only the canonical 36 character form is
+ * accepted. Invalid variable values carry {@link GraphQlErrorType#BAD_USER_INPUT} as
+ * their {@code code} extension, which graphql-java keeps when it reports the error
+ * as a {@code ValidationError}. Invalid literals fail validation.
+ *
+ * <p>graphql-java reports both kinds of invalid input with exceptions of its own and
+ * only copies the message and extensions of the ones thrown here, so those are
+ * created without a stack trace.
+ */
+public final class UuidScalar {
+
+    public static final GraphQLScalarType INSTANCE = GraphQLScalarType.newScalar()
+            .name("UUID")
+            .description("A UUID in its canonical 8-4-4-4-12 hexadecimal form")
+            .coercing(new UuidCoercing())
+            .build();
+
+    private static final Map<String, Object> BAD_USER_INPUT =
+            Map.of("code", GraphQlErrorType.BAD_USER_INPUT.name());
+
+    private UuidScalar() {
+    }
+
+    /**
+     * Parses the canonical string form of a UUID.
+     * @return the UUID, or {@code null} if the input is not a valid UUID
+     */
+    public static UUID parse(CharSequence input) {
+        if (input.length() != 36 || input.charAt(8) != '-' || input.charAt(13) != '-'
+                || input.charAt(18) != '-' || input.charAt(23) != '-') {
+            return null;
+        }
+        long mostSigBits = 0;
+        long leastSigBits = 0;
+        for (int i = 0; i < 36; i++) {
+            if (i == 8 || i == 13 || i == 18 || i == 23) {
+                continue;
+            }
+            int digit = hexDigit(input.charAt(i));
+            if (digit < 0) {
+                return null;
+            }
+            if (i < 18) {
+                mostSigBits = (mostSigBits << 4) | digit;
+            } else {
+                leastSigBits = (leastSigBits << 4) | digit;
+            }
+        }
+        return new UUID(mostSigBits, leastSigBits);
+    }
+
+    private static int hexDigit(char c) {
+        if (c >= '0' && c <= '9') {
+            return c - '0';
+        }
+        if (c >= 'a' && c <= 'f') {
+            return c - 'a' + 10;
+        }
+        if (c >= 'A' && c <= 'F') {
+            return c - 'A' + 10;
+        }
+        return -1;
+    }
+
+    private static final class UuidCoercing implements Coercing<UUID, String> {
+
+        @Override
+        public String serialize(Object dataFetcherResult, GraphQLContext graphQLContext, Locale locale) {
+            if (dataFetcherResult instanceof UUID uuid) {
+                return uuid.toString();
+            }
+            if (dataFetcherResult instanceof String string && parse(string) != null) {
+                return string;
+            }
+            throw new CoercingSerializeException("Expected a UUID but was '" + dataFetcherResult + "'");
+        }
+
+        @Override
+        public UUID parseValue(Object input, GraphQLContext graphQLContext, Locale locale) {
+            UUID uuid = (input instanceof CharSequence chars) ? parse(chars) : null;
+            if (uuid == null) {
+                throw new InvalidUuidValueException("Invalid UUID '" + input + "'");
+            }
+            return uuid;
+        }
+
+        @Override
+        public UUID parseLiteral(Value<?> input, CoercedVariables variables, GraphQLContext graphQLContext, Locale locale) {
+            UUID uuid = (input instanceof StringValue string) ? parse(string.getValue()) : null;
+            if (uuid == null) {
+                throw new InvalidUuidLiteralException("Invalid UUID literal " + input);
+            }
+            return uuid;
+        }
+
+        @Override
+        public Value<?> valueToLiteral(Object input, GraphQLContext graphQLContext, Locale locale) {
+            return StringValue.of(serialize(input, graphQLContext, locale));
+        }
+    }
+
+    /**
+     * Invalid variable value. Rejecting bad IDs is routine, so no stack trace is captured.
+     */
+    private static final class InvalidUuidValueException extends CoercingParseValueException {
+
+        InvalidUuidValueException(String message) {
+            super(message);
+        }
+
+        @Override
+        public Map<String, Object> getExtensions() {
+            return BAD_USER_INPUT;
+        }
+
+        @Override
+        public synchronized Throwable fillInStackTrace() {
+            return this;
+        }
+    }
+
+    /**
+     * Invalid literal in the document, reported by validation.
+     */
+    private static final class InvalidUuidLiteralException extends CoercingParseLiteralException {
+
+        InvalidUuidLiteralException(String message) {
+            super(message);
+        }
+
+        @Override
+        public synchronized Throwable fillInStackTrace() {
+            return this;
+        }
+    }
+}
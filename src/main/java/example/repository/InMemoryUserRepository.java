@@ -0,0 +1,268 @@
+package example.repository;
+
+import example.entity.User;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.dao.DuplicateKeyException;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * {@link UserRepository} that keeps all users in memory, without JPA or a database.
+ * Users are held in ID order, each encoded as a single byte array, with a secondary
+ * index by email. Changes are made durable by a {@link UserJournal} before they are
+ * applied, and the state is recovered from it on startup.
+ *
+ * <p>Reads are lock-free; writes are serialized so that the journal and the
+ * in-memory state change in the same order. Snapshots are written in the background
+ * while writes go on to a new journal. A write only waits for a snapshot if the new
+ * journal needs a snapshot too before the previous one has been written.
+ */
+public class InMemoryUserRepository implements UserRepository, DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(InMemoryUserRepository.class);
+
+    private final ConcurrentSkipListMap<UUID, byte[]> users = new ConcurrentSkipListMap<>(ID_ORDER);
+
+    private final Map<String, UUID> emailIndex = new ConcurrentHashMap<>();
+
+    /**
+     * Number of users, kept alongside the map because {@link ConcurrentSkipListMap#size()}
+     * walks all entries.
+     */
+    private final AtomicInteger size = new AtomicInteger();
+
+    private final UserJournal journal;
+
+    private final int snapshotEvery;
+
+    private final ExecutorService snapshotExecutor =
+            Executors.newSingleThreadExecutor(Thread.ofPlatform().name("user-snapshot").daemon().factory());
+
+    /**
+     * The snapshot being written, if any. Guarded by {@code this}, like all writes.
+     */
+    private CompletableFuture<Void> pendingSnapshot = CompletableFuture.completedFuture(null);
+
+    public InMemoryUserRepository(Path directory, int journalSize, int snapshotEvery, boolean forceWrites) {
+        this.snapshotEvery = snapshotEvery;
+        try {
+            this.journal = new UserJournal(directory, journalSize, forceWrites);
+            journal.recover(new UserJournal.Listener() {
+                @Override
+                public void put(UUID id, byte[] data) {
+                    apply(id, data);
+                }
+
+                @Override
+                public void delete(UUID id) {
+                    remove(id);
+                }
+
+                @Override
+                public void clear() {
+                    clearAll();
+                }
+            });
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Failed to recover users from " + directory, ex);
+        }
+    }
+
+    @Override
+    public List<User> findAll() {
+        List<User> result = new ArrayList<>();
+        users.forEach((id, data) -> result.add(decode(id, data)));
+        return result;
+    }
+
+    @Override
+    public List<User> findPage(UUID after, int limit) {
+        List<User> result = new ArrayList<>();
+        if (limit <= 0) {
+            return result;
+        }
+        for (Map.Entry<UUID, byte[]> entry : (after == null ? users : users.tailMap(after, false)).entrySet()) {
+            result.add(decode(entry.getKey(), entry.getValue()));
+            if (result.size() == limit) {
+                break;
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public Optional<User> findById(UUID id) {
+        byte[] data = users.get(id);
+        return (data != null) ? Optional.of(decode(id, data)) : Optional.empty();
+    }
+
+    @Override
+    public Optional<User> findByEmail(String email) {
+        UUID id = emailIndex.get(email);
+        // The index is updated after the users, a stale entry points to a user with another email
+        return (id != null) ? findById(id).filter(user -> email.equals(user.getEmail())) : Optional.empty();
+    }
+
+    @Override
+    public List<String> findAllEmails() {
+        return new ArrayList<>(emailIndex.keySet());
+    }
+
+    @Override
+    public synchronized <S extends User> S save(S user) {
+        if (user.getId() == null) {
+            user.setId(UUID.randomUUID());
+        }
+        UUID id = user.getId();
+        UUID owner = emailIndex.get(user.getEmail());
+        if (owner != null && !owner.equals(id)) {
+            throw new DuplicateKeyException("Email already in use: " + user.getEmail());
+        }
+        byte[] data = encode(user);
+        prepareAppend(data.length);
+        journal.appendPut(id, data);
+        apply(id, data);
+        return user;
+    }
+
+    @Override
+    public boolean existsById(UUID id) {
+        return users.containsKey(id);
+    }
+
+    @Override
+    public synchronized void deleteById(UUID id) {
+        if (users.containsKey(id)) {
+            prepareAppend(0);
+            journal.appendDelete(id);
+            remove(id);
+        }
+    }
+
+    @Override
+    public synchronized void deleteAll() {
+        prepareAppend(0);
+        journal.appendClear();
+        clearAll();
+    }
+
+    @Override
+    public long count() {
+        return size.get();
+    }
+
+    /**
+     * Starts a new journal and a snapshot in the background if the journal is full or
+     * has grown past the snapshot interval.
+     */
+    private void prepareAppend(int dataLength) {
+        if (journal.getRecords() >= snapshotEvery || !journal.hasRoom(dataLength)) {
+            pendingSnapshot.join();
+            long generation;
+            try {
+                generation = journal.roll();
+            } catch (IOException ex) {
+                throw new UncheckedIOException("Failed to start a new journal", ex);
+            }
+            pendingSnapshot = CompletableFuture.runAsync(() -> writeSnapshot(generation), snapshotExecutor);
+        }
+    }
+
+    /**
+     * Writes the live map without holding the write lock. Changes made meanwhile are
+     * also in the new journal, so the recovered state is the same either way. If the
+     * snapshot fails, the journals it would have replaced are kept and the next
+     * snapshot replaces them too.
+     */
+    private void writeSnapshot(long generation) {
+        try {
+            journal.snapshot(generation, users);
+        } catch (IOException | RuntimeException ex) {
+            logger.error("Failed to write snapshot of generation {}", generation, ex);
+        }
+    }
+
+    private void apply(UUID id, byte[] data) {
+        String email = decodeEmail(data);
+        byte[] previous = users.put(id, data);
+        emailIndex.put(email, id);
+        if (previous == null) {
+            size.incrementAndGet();
+        } else {
+            String previousEmail = decodeEmail(previous);
+            if (!previousEmail.equals(email)) {
+                emailIndex.remove(previousEmail, id);
+            }
+        }
+    }
+
+    private void remove(UUID id) {
+        byte[] previous = users.remove(id);
+        if (previous != null) {
+            size.decrementAndGet();
+            emailIndex.remove(decodeEmail(previous), id);
+        }
+    }
+
+    private void clearAll() {
+        users.clear();
+        emailIndex.clear();
+        size.set(0);
+    }
+
+    /**
+     * Encodes a user as {@code [name length][name][email]}, both in UTF-8.
+     */
+    private static byte[] encode(User user) {
+        byte[] name = user.getName().getBytes(StandardCharsets.UTF_8);
+        byte[] email = user.getEmail().getBytes(StandardCharsets.UTF_8);
+        if (name.length > 0xFFFF) {
+            throw new IllegalArgumentException("Name is too long");
+        }
+        byte[] data = new byte[2 + name.length + email.length];
+        data[0] = (byte) (name.length >>> 8);
+        data[1] = (byte) name.length;
+        System.arraycopy(name, 0, data, 2, name.length);
+        System.arraycopy(email, 0, data, 2 + name.length, email.length);
+        return data;
+    }
+
+    private static User decode(UUID id, byte[] data) {
+        int nameLength = nameLength(data);
+        User user = new User(new String(data, 2, nameLength, StandardCharsets.UTF_8), decodeEmail(data));
+        user.setId(id);
+        return user;
+    }
+
+    private static String decodeEmail(byte[] data) {
+        int offset = 2 + nameLength(data);
+        return new String(data, offset, data.length - offset, StandardCharsets.UTF_8);
+    }
+
+    private static int nameLength(byte[] data) {
+        return ((data[0] & 0xFF) << 8) | (data[1] & 0xFF);
+    }
+
+    @Override
+    public synchronized void destroy() {
+        pendingSnapshot.join();
+        snapshotExecutor.close();
+        journal.close();
+    }
+}
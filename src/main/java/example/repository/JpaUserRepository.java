@@ -0,0 +1,29 @@
+package example.repository;
+
+import example.entity.User;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface JpaUserRepository extends JpaRepository<User, UUID>, UserRepository {
+
+    List<User> findAllByOrderByIdAsc(Limit limit);
+
+    List<User> findByIdGreaterThanOrderByIdAsc(UUID after, Limit limit);
+
+    @Override
+    @Query("select u.email from User u")
+    List<String> findAllEmails();
+
+    @Override
+    default List<User> findPage(UUID after, int limit) {
+        return after == null
+                ? findAllByOrderByIdAsc(Limit.of(limit))
+                : findByIdGreaterThanOrderByIdAsc(after, Limit.of(limit));
+    }
+}
\ No newline at end of file
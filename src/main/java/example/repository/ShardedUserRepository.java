@@ -0,0 +1,227 @@
+package example.repository;
+
+import example.entity.User;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+
+/**
+ * {@link UserRepository} that spreads users over several databases by a hash of
+ * their ID. Lookups by ID go straight to the owning shard, while {@link #findAll()}
+ * and {@link #findPage(UUID, int)} query all shards in parallel and merge the results
+ * in ID order.
+ *
+ * <p>Email uniqueness across shards is enforced with a {@code user_emails} table on
+ * the shard that owns the hash of the email: an email is reserved there before the
+ * user row is written and released when the user is deleted or changes its email.
+ */
+public class ShardedUserRepository implements UserRepository, DisposableBean {
+
+    private static final Comparator<User> USER_ORDER = Comparator.comparing(User::getId, ID_ORDER);
+
+    private static final RowMapper<User> USER_ROW_MAPPER = (rs, rowNum) -> {
+        User user = new User(rs.getString("name"), rs.getString("email"));
+        user.setId(rs.getObject("id", UUID.class));
+        return user;
+    };
+
+    private final List<DataSource> dataSources;
+
+    private final List<JdbcTemplate> shards;
+
+    private final Executor executor;
+
+    /**
+     * @param executor runs the shard queries of {@link #findAll()}, {@link #findPage(UUID, int)},
+     * {@link #findAllEmails()}, {@link #count()} and {@link #deleteAll()}. The calling
+     * thread waits for them, so it must not be a bounded pool that callers also run on.
+     * The repository closes it on {@link #destroy()} if it is {@link AutoCloseable}.
+     */
+    public ShardedUserRepository(List<DataSource> dataSources, Executor executor) {
+        if (dataSources.isEmpty()) {
+            throw new IllegalArgumentException("At least one shard is required");
+        }
+        this.dataSources = List.copyOf(dataSources);
+        this.shards = dataSources.stream().map(JdbcTemplate::new).toList();
+        this.executor = executor;
+        shards.forEach(ShardedUserRepository::initSchema);
+    }
+
+    private static void initSchema(JdbcTemplate shard) {
+        shard.execute("CREATE TABLE IF NOT EXISTS users ("
+                + "id UUID PRIMARY KEY, name VARCHAR(255) NOT NULL, email VARCHAR(255) NOT NULL)");
+        shard.execute("CREATE TABLE IF NOT EXISTS user_emails ("
+                + "email VARCHAR(255) PRIMARY KEY, user_id UUID NOT NULL)");
+    }
+
+    @Override
+    public List<User> findAll() {
+        List<User> users = new ArrayList<>();
+        scatter(shard -> shard.query("SELECT id, name, email FROM users", USER_ROW_MAPPER)).forEach(users::addAll);
+        users.sort(USER_ORDER);
+        return users;
+    }
+
+    @Override
+    public List<User> findPage(UUID after, int limit) {
+        if (limit <= 0) {
+            return List.of();
+        }
+        // Every shard returns its first page, the merged page is the first entries of their union
+        List<User> users = new ArrayList<>();
+        scatter(shard -> after == null
+                ? shard.query("SELECT id, name, email FROM users ORDER BY id LIMIT ?", USER_ROW_MAPPER, limit)
+                : shard.query("SELECT id, name, email FROM users WHERE id > ? ORDER BY id LIMIT ?",
+                        USER_ROW_MAPPER, after, limit))
+                .forEach(users::addAll);
+        users.sort(USER_ORDER);
+        return users.size() > limit ? new ArrayList<>(users.subList(0, limit)) : users;
+    }
+
+    @Override
+    public Optional<User> findById(UUID id) {
+        return shardFor(id).query("SELECT id, name, email FROM users WHERE id = ?", USER_ROW_MAPPER, id)
+                .stream().findFirst();
+    }
+
+    /**
+     * Finds the owner of the email in {@code user_emails}, then reads the user from
+     * its shard.
+     */
+    @Override
+    public Optional<User> findByEmail(String email) {
+        return shardFor(email).queryForList("SELECT user_id FROM user_emails WHERE email = ?", UUID.class, email)
+                .stream().findFirst()
+                .flatMap(this::findById)
+                .filter(user -> email.equals(user.getEmail()));
+    }
+
+    /**
+     * Reads the emails from the {@code user_emails} tables of all shards.
+     */
+    @Override
+    public List<String> findAllEmails() {
+        List<String> emails = new ArrayList<>();
+        scatter(shard -> shard.queryForList("SELECT email FROM user_emails", String.class)).forEach(emails::addAll);
+        return emails;
+    }
+
+    @Override
+    public <S extends User> S save(S user) {
+        Optional<User> existing = (user.getId() != null) ? findById(user.getId()) : Optional.empty();
+        if (existing.isEmpty()) {
+            insert(user);
+        } else {
+            update(user, existing.get().getEmail());
+        }
+        return user;
+    }
+
+    private void insert(User user) {
+        if (user.getId() == null) {
+            user.setId(UUID.randomUUID());
+        }
+        reserveEmail(user.getEmail(), user.getId());
+        try {
+            shardFor(user.getId()).update("INSERT INTO users (id, name, email) VALUES (?, ?, ?)",
+                    user.getId(), user.getName(), user.getEmail());
+        } catch (RuntimeException ex) {
+            releaseEmail(user.getEmail(), user.getId());
+            throw ex;
+        }
+    }
+
+    private void update(User user, String previousEmail) {
+        boolean emailChanged = !Objects.equals(previousEmail, user.getEmail());
+        if (emailChanged) {
+            reserveEmail(user.getEmail(), user.getId());
+        }
+        try {
+            shardFor(user.getId()).update("UPDATE users SET name = ?, email = ? WHERE id = ?",
+                    user.getName(), user.getEmail(), user.getId());
+        } catch (RuntimeException ex) {
+            if (emailChanged) {
+                releaseEmail(user.getEmail(), user.getId());
+            }
+            throw ex;
+        }
+        if (emailChanged) {
+            releaseEmail(previousEmail, user.getId());
+        }
+    }
+
+    /**
+     * Claims an email for a user. Fails with a
+     * {@link org.springframework.dao.DuplicateKeyException} if another user has it.
+     */
+    private void reserveEmail(String email, UUID userId) {
+        shardFor(email).update("INSERT INTO user_emails (email, user_id) VALUES (?, ?)", email, userId);
+    }
+
+    private void releaseEmail(String email, UUID userId) {
+        shardFor(email).update("DELETE FROM user_emails WHERE email = ? AND user_id = ?", email, userId);
+    }
+
+    @Override
+    public boolean existsById(UUID id) {
+        Integer count = shardFor(id).queryForObject("SELECT COUNT(*) FROM users WHERE id = ?", Integer.class, id);
+        return count != null && count > 0;
+    }
+
+    @Override
+    public void deleteById(UUID id) {
+        findById(id).ifPresent(user -> {
+            shardFor(id).update("DELETE FROM users WHERE id = ?", id);
+            releaseEmail(user.getEmail(), id);
+        });
+    }
+
+    @Override
+    public void deleteAll() {
+        scatter(shard -> shard.update("DELETE FROM users") + shard.update("DELETE FROM user_emails"));
+    }
+
+    @Override
+    public long count() {
+        return scatter(shard -> shard.queryForObject("SELECT COUNT(*) FROM users", Long.class))
+                .stream().mapToLong(Long::longValue).sum();
+    }
+
+    int shardIndex(Object key) {
+        return Math.floorMod(key.hashCode(), shards.size());
+    }
+
+    private JdbcTemplate shardFor(Object key) {
+        return shards.get(shardIndex(key));
+    }
+
+    private <T> List<T> scatter(Function<JdbcTemplate, T> query) {
+        List<CompletableFuture<T>> futures = shards.stream()
+                .map(shard -> CompletableFuture.supplyAsync(() -> query.apply(shard), executor))
+                .toList();
+        return futures.stream().map(CompletableFuture::join).toList();
+    }
+
+    @Override
+    public void destroy() throws Exception {
+        if (executor instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+        for (DataSource dataSource : dataSources) {
+            if (dataSource instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,304 @@
+package example.repository;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * Durable log of changes to an in-memory user store. Changes are appended to a
+ * memory-mapped journal file, and the full state is periodically written to a
+ * snapshot file. On startup the latest snapshot is loaded and the journals written
+ * since are replayed on top of it.
+ *
+ * <p>Each journal has a generation, which is part of its file name and its header.
+ * To take a snapshot the caller first {@link #roll() rolls} over to a journal of the
+ * next generation, then writes the state with {@link #snapshot(long, Map)} while
+ * appends go on to the new journal. A snapshot of generation {@code n} replaces the
+ * journals up to {@code n}, which are deleted once it is written. The state passed
+ * to the snapshot may already contain changes of newer journals: replaying them on
+ * top of it yields the same state.
+ *
+ * <p>Every record is {@code [length][crc][type][id][data]}, where the checksum also
+ * covers the generation, so a torn write or a leftover record from an older journal
+ * ends the replay. Not thread-safe: callers serialize writes, and only
+ * {@link #snapshot(long, Map)} may run concurrently with them.
+ */
+class UserJournal implements Closeable {
+
+    /**
+     * Receives the state read during {@link #recover(Listener)}.
+     */
+    interface Listener {
+
+        void put(UUID id, byte[] data);
+
+        void delete(UUID id);
+
+        void clear();
+    }
+
+    private static final byte PUT = 1;
+    private static final byte DELETE = 2;
+    private static final byte CLEAR = 3;
+
+    private static final int HEADER_SIZE = Long.BYTES;
+    private static final int RECORD_HEADER_SIZE = 2 * Integer.BYTES + 1 + 2 * Long.BYTES;
+
+    private static final String JOURNAL_PREFIX = "users-";
+    private static final String JOURNAL_SUFFIX = ".journal";
+
+    private final Path directory;
+    private final Path snapshotFile;
+    private final int capacity;
+    private final boolean forceWrites;
+
+    private final CRC32C crc = new CRC32C();
+
+    private FileChannel channel;
+    private MappedByteBuffer buffer;
+    private long generation;
+    private int records;
+
+    UserJournal(Path directory, int capacity, boolean forceWrites) throws IOException {
+        Files.createDirectories(directory);
+        this.directory = directory;
+        this.snapshotFile = directory.resolve("users.snapshot");
+        this.capacity = capacity;
+        this.forceWrites = forceWrites;
+    }
+
+    /**
+     * Loads the latest snapshot and replays the journals written since, then positions
+     * the newest journal for appending after its last valid record.
+     */
+    void recover(Listener listener) throws IOException {
+        long snapshotGeneration = Files.exists(snapshotFile) ? readSnapshot(listener) : 0;
+        for (long journalGeneration : journalGenerations()) {
+            if (journalGeneration <= snapshotGeneration) {
+                // Left over from a crash after the snapshot replacing it was written
+                Files.delete(journalFile(journalGeneration));
+                continue;
+            }
+            if (channel != null) {
+                channel.close();
+            }
+            open(journalGeneration);
+            if (buffer.getLong(0) != journalGeneration) {
+                // Created by a roll that did not get to write the header
+                reset();
+            } else {
+                replay(listener);
+            }
+        }
+        if (channel == null) {
+            open(snapshotGeneration + 1);
+            reset();
+        }
+    }
+
+    private void replay(Listener listener) {
+        int position = HEADER_SIZE;
+        records = 0;
+        while (position + RECORD_HEADER_SIZE <= buffer.limit()) {
+            int length = buffer.getInt(position);
+            if (length < RECORD_HEADER_SIZE || position + length > buffer.limit()) {
+                break;
+            }
+            ByteBuffer record = buffer.slice(position + 2 * Integer.BYTES, length - 2 * Integer.BYTES);
+            if (buffer.getInt(position + Integer.BYTES) != checksum(record.duplicate())) {
+                break;
+            }
+            replay(record, listener);
+            position += length;
+            records++;
+        }
+        buffer.position(position);
+    }
+
+    private void replay(ByteBuffer record, Listener listener) {
+        byte type = record.get();
+        UUID id = new UUID(record.getLong(), record.getLong());
+        switch (type) {
+            case PUT -> {
+                byte[] data = new byte[record.remaining()];
+                record.get(data);
+                listener.put(id, data);
+            }
+            case DELETE -> listener.delete(id);
+            case CLEAR -> listener.clear();
+            default -> throw new IllegalStateException("Unknown journal record type " + type);
+        }
+    }
+
+    void appendPut(UUID id, byte[] data) {
+        append(PUT, id, data);
+    }
+
+    void appendDelete(UUID id) {
+        append(DELETE, id, null);
+    }
+
+    void appendClear() {
+        append(CLEAR, new UUID(0, 0), null);
+    }
+
+    /**
+     * Whether a put of the given size fits into the journal before a snapshot is needed.
+     */
+    boolean hasRoom(int dataLength) {
+        return buffer.position() + RECORD_HEADER_SIZE + dataLength <= buffer.limit();
+    }
+
+    int getRecords() {
+        return records;
+    }
+
+    private void append(byte type, UUID id, byte[] data) {
+        int dataLength = (data != null) ? data.length : 0;
+        if (!hasRoom(dataLength)) {
+            throw new IllegalStateException("Journal is full, a snapshot is required");
+        }
+        int start = buffer.position();
+        int length = RECORD_HEADER_SIZE + dataLength;
+
+        buffer.position(start + 2 * Integer.BYTES);
+        buffer.put(type);
+        buffer.putLong(id.getMostSignificantBits());
+        buffer.putLong(id.getLeastSignificantBits());
+        if (data != null) {
+            buffer.put(data);
+        }
+        buffer.putInt(start + Integer.BYTES, checksum(buffer.slice(start + 2 * Integer.BYTES, length - 2 * Integer.BYTES)));
+        // The length is written last, a record without it is not replayed
+        buffer.putInt(start, length);
+        records++;
+
+        if (forceWrites) {
+            buffer.force(start, length);
+        }
+    }
+
+    private int checksum(ByteBuffer record) {
+        crc.reset();
+        for (int shift = 56; shift >= 0; shift -= 8) {
+            crc.update((int) (generation >>> shift));
+        }
+        crc.update(record);
+        return (int) crc.getValue();
+    }
+
+    /**
+     * Continues in a new, empty journal of the next generation. The previous journal
+     * stays on disk until a snapshot replaces it.
+     * @return the generation of the previous journal, to pass to {@link #snapshot(long, Map)}
+     */
+    long roll() throws IOException {
+        long previous = generation;
+        // Unmapped once unreachable; with forceWrites its records are already on disk
+        channel.close();
+        open(previous + 1);
+        reset();
+        return previous;
+    }
+
+    /**
+     * Writes the given state as the snapshot of the given generation and deletes the
+     * journals it replaces. The state is read entry by entry and may change meanwhile.
+     */
+    void snapshot(long snapshotGeneration, Map<UUID, byte[]> users) throws IOException {
+        Path tempFile = snapshotFile.resolveSibling(snapshotFile.getFileName() + ".tmp");
+        try (FileChannel snapshotChannel = FileChannel.open(tempFile, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(snapshotChannel)));
+            out.writeLong(snapshotGeneration);
+            for (Map.Entry<UUID, byte[]> entry : users.entrySet()) {
+                out.writeInt(entry.getValue().length);
+                out.writeLong(entry.getKey().getMostSignificantBits());
+                out.writeLong(entry.getKey().getLeastSignificantBits());
+                out.write(entry.getValue());
+            }
+            // The number of users is not known up front, a negative length ends the snapshot
+            out.writeInt(-1);
+            out.flush();
+            snapshotChannel.force(true);
+        }
+        Files.move(tempFile, snapshotFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        for (long journalGeneration : journalGenerations()) {
+            if (journalGeneration <= snapshotGeneration) {
+                Files.delete(journalFile(journalGeneration));
+            }
+        }
+    }
+
+    private long readSnapshot(Listener listener) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(snapshotFile)))) {
+            long snapshotGeneration = in.readLong();
+            for (int length = in.readInt(); length >= 0; length = in.readInt()) {
+                UUID id = new UUID(in.readLong(), in.readLong());
+                byte[] data = new byte[length];
+                in.readFully(data);
+                listener.put(id, data);
+            }
+            return snapshotGeneration;
+        }
+    }
+
+    /**
+     * Generations of the journal files in the directory, oldest first.
+     */
+    private List<Long> journalGenerations() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.map(file -> file.getFileName().toString())
+                    .filter(name -> name.startsWith(JOURNAL_PREFIX) && name.endsWith(JOURNAL_SUFFIX))
+                    .map(name -> Long.parseLong(name.substring(JOURNAL_PREFIX.length(), name.length() - JOURNAL_SUFFIX.length())))
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    private Path journalFile(long journalGeneration) {
+        return directory.resolve(JOURNAL_PREFIX + journalGeneration + JOURNAL_SUFFIX);
+    }
+
+    private void open(long journalGeneration) throws IOException {
+        channel = FileChannel.open(journalFile(journalGeneration),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, Math.max(capacity, channel.size()));
+        generation = journalGeneration;
+    }
+
+    private void reset() {
+        buffer.putLong(0, generation);
+        buffer.putInt(HEADER_SIZE, 0);
+        buffer.position(HEADER_SIZE);
+        records = 0;
+        buffer.force(0, HEADER_SIZE + Integer.BYTES);
+    }
+
+    @Override
+    public void close() {
+        try {
+            buffer.force();
+            channel.close();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+}
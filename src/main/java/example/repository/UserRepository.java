@@ -1,12 +1,55 @@
 package example.repository;
 
 import example.entity.User;
-import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.stereotype.Repository;
 
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
-@Repository
-public interface UserRepository extends JpaRepository<User, UUID> {
+/**
+ * Storage of {@link User}s. The default implementation is the Spring Data
+ * {@link JpaUserRepository}; other stores can be selected with {@code app.user-store}.
+ */
+public interface UserRepository {
 
+    /**
+     * Order of IDs used by {@link #findPage(UUID, int)}. This is the order of UUIDs in
+     * the database, which compares both halves as unsigned values unlike
+     * {@link UUID#compareTo(UUID)}.
+     */
+    Comparator<UUID> ID_ORDER = (left, right) -> {
+        int result = Long.compareUnsigned(left.getMostSignificantBits(), right.getMostSignificantBits());
+        return result != 0 ? result : Long.compareUnsigned(left.getLeastSignificantBits(), right.getLeastSignificantBits());
+    };
+
+    List<User> findAll();
+
+    /**
+     * Returns up to {@code limit} users ordered by ID, starting after the given ID.
+     * @param after the ID to start after, or {@code null} to start from the beginning
+     */
+    List<User> findPage(UUID after, int limit);
+
+    Optional<User> findById(UUID id);
+
+    /**
+     * Looks up a user by its exact email. Emails are unique, so there is at most one.
+     */
+    Optional<User> findByEmail(String email);
+
+    /**
+     * Returns the emails of all users, in no particular order, without loading the users.
+     */
+    List<String> findAllEmails();
+
+    <S extends User> S save(S user);
+
+    boolean existsById(UUID id);
+
+    void deleteById(UUID id);
+
+    void deleteAll();
+
+    long count();
 }
\ No newline at end of file
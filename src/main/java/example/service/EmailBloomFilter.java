@@ -0,0 +1,79 @@
+package example.service;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bloom filter over user emails. {@link #mightContain(String)} never returns
+ * {@code false} for an email that was added, so a negative answer proves that an
+ * email is new without looking it up; a positive answer has to be confirmed.
+ * Emails cannot be removed, so emails of deleted users remain positives until
+ * restart. Safe for concurrent use.
+ */
+public class EmailBloomFilter {
+
+    private final AtomicLongArray bits;
+
+    private final long bitCount;
+
+    private final int hashFunctions;
+
+    /**
+     * Sizes the filter for the given number of emails at the given false positive rate.
+     */
+    public EmailBloomFilter(int expectedEmails, double falsePositiveRate) {
+        if (expectedEmails <= 0) {
+            throw new IllegalArgumentException("Expected emails must be positive");
+        }
+        if (falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("False positive rate must be between 0 and 1");
+        }
+        long optimalBits = (long) Math.ceil(-expectedEmails * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        this.bits = new AtomicLongArray(Math.toIntExact((optimalBits + 63) / 64));
+        this.bitCount = bits.length() * 64L;
+        this.hashFunctions = Math.max(1, (int) Math.round((double) bitCount / expectedEmails * Math.log(2)));
+    }
+
+    public void add(String email) {
+        long hash1 = hash(email);
+        long hash2 = mix(hash1 ^ 0x9E3779B97F4A7C15L);
+        for (int i = 0; i < hashFunctions; i++) {
+            long bit = Long.remainderUnsigned(hash1 + i * hash2, bitCount);
+            int index = (int) (bit >>> 6);
+            long mask = 1L << bit;
+            long word = bits.get(index);
+            while ((word & mask) == 0 && !bits.compareAndSet(index, word, word | mask)) {
+                word = bits.get(index);
+            }
+        }
+    }
+
+    public boolean mightContain(String email) {
+        long hash1 = hash(email);
+        long hash2 = mix(hash1 ^ 0x9E3779B97F4A7C15L);
+        for (int i = 0; i < hashFunctions; i++) {
+            long bit = Long.remainderUnsigned(hash1 + i * hash2, bitCount);
+            if ((bits.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 64-bit hash of the characters of an email. {@link String#hashCode()} has too
+     * few bits to derive the bit positions of a large filter from.
+     */
+    private static long hash(String email) {
+        long hash = 0xCBF29CE484222325L;
+        for (int i = 0; i < email.length(); i++) {
+            hash = (hash ^ email.charAt(i)) * 0x100000001B3L;
+        }
+        return mix(hash);
+    }
+
+    private static long mix(long value) {
+        value = (value ^ (value >>> 33)) * 0xFF51AFD7ED558CCDL;
+        value = (value ^ (value >>> 33)) * 0xC4CEB9FE1A85EC53L;
+        return value ^ (value >>> 33);
+    }
+}
@@ -0,0 +1,12 @@
+package example.service;
+
+/**
+ * Thrown when a user would get an email that another user already has. Rejected
+ * signups are routine, so the exception does not capture a stack trace.
+ */
+public class EmailTakenException extends RuntimeException {
+
+    public EmailTakenException() {
+        super("Email already in use", null, false, false);
+    }
+}
@@ -0,0 +1,12 @@
+package example.service;
+
+/**
+ * Thrown when an operation targets a user that does not exist. Lookups of unknown
+ * IDs are routine, so the exception does not capture a stack trace.
+ */
+public class UserNotFoundException extends RuntimeException {
+
+    public UserNotFoundException() {
+        super("User not found", null, false, false);
+    }
+}
@@ -3,37 +3,94 @@ package example.service;
 import example.entity.User;
 import example.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
+/**
+ * User operations. Emails are checked before users are saved, so a taken email is
+ * rejected with an {@link EmailTakenException} without a failing write. The
+ * {@link EmailBloomFilter} answers the check for new emails without a lookup; only
+ * emails it reports as possibly taken are looked up in the repository.
+ */
 @Service
 public class UserService {
 
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private EmailBloomFilter emailFilter;
+
     public List<User> getAllUsers() {
         return userRepository.findAll();
     }
 
+    /**
+     * Returns users ordered by ID, or all users in no particular order if neither
+     * {@code after} nor {@code first} is given.
+     */
+    public List<User> getUsers(UUID after, Integer first) {
+        if (after == null && first == null) {
+            return getAllUsers();
+        }
+        if (first != null && first <= 0) {
+            return List.of();
+        }
+        return userRepository.findPage(after, first != null ? first : Integer.MAX_VALUE);
+    }
+
     public Optional<User> getUserById(UUID id) {
         return userRepository.findById(id);
     }
 
+    public Optional<User> getUserByEmail(String email) {
+        return userRepository.findByEmail(email);
+    }
+
     public User createUser(String name, String email) {
+        if (isEmailTaken(email)) {
+            throw new EmailTakenException();
+        }
         User user = new User(name, email);
-        return userRepository.save(user);
+        return save(user);
     }
 
     public User updateUser(UUID id, String name, String email) {
         User user = userRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("User not found"));
+                .orElseThrow(UserNotFoundException::new);
+        if (!email.equals(user.getEmail()) && isEmailTaken(email)) {
+            throw new EmailTakenException();
+        }
         user.setName(name);
         user.setEmail(email);
-        return userRepository.save(user);
+        return save(user);
+    }
+
+    private boolean isEmailTaken(String email) {
+        return emailFilter.mightContain(email) && userRepository.findByEmail(email).isPresent();
+    }
+
+    /**
+     * Saves a user and records its email. A concurrent write, or one that did not go
+     * through this service, can still take the email first, in which case the
+     * store's unique constraint rejects the save.
+     */
+    private User save(User user) {
+        User saved;
+        try {
+            saved = userRepository.save(user);
+        } catch (DataIntegrityViolationException ex) {
+            if (userRepository.findByEmail(user.getEmail()).isPresent()) {
+                throw new EmailTakenException();
+            }
+            throw ex;
+        }
+        emailFilter.add(saved.getEmail());
+        return saved;
     }
 
     public boolean deleteUser(UUID id) {
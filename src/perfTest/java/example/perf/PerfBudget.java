@@ -0,0 +1,30 @@
+package example.perf;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Limits a scenario must stay within, per operation.
+ *
+ * @param statements SQL statements prepared by Hibernate, on average. This is an
+ * exact expectation: fewer statements mean the budget needs updating, more mean a
+ * query was added
+ * @param maxAllocatedBytes heap bytes allocated by all threads, on average
+ * @param maxP99Millis 99th percentile latency
+ */
+record PerfBudget(double statements, long maxAllocatedBytes, double maxP99Millis) {
+
+    List<String> violations(double statements, long allocatedBytes, double p99Millis) {
+        List<String> violations = new ArrayList<>();
+        if (statements != this.statements) {
+            violations.add("statements " + statements + " != " + this.statements);
+        }
+        if (allocatedBytes > maxAllocatedBytes) {
+            violations.add("allocated bytes " + allocatedBytes + " > " + maxAllocatedBytes);
+        }
+        if (p99Millis > maxP99Millis) {
+            violations.add("p99 " + p99Millis + " ms > " + maxP99Millis + " ms");
+        }
+        return violations;
+    }
+}
@@ -0,0 +1,69 @@
+package example.perf;
+
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.LongSupplier;
+
+/**
+ * Runs an operation repeatedly and measures the latency of each run, the SQL
+ * statements Hibernate prepares and the heap allocated by all threads. The server
+ * handles requests on other threads than the caller, so allocation is taken from
+ * the JVM wide total rather than from the calling thread; it includes the
+ * in-process HTTP client.
+ */
+class PerfMeter {
+
+    private final LongSupplier statementCount;
+
+    private final com.sun.management.ThreadMXBean threads =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    /**
+     * @param statementCount the number of SQL statements prepared so far
+     */
+    PerfMeter(LongSupplier statementCount) {
+        if (!threads.isThreadAllocatedMemorySupported()) {
+            throw new IllegalStateException("Thread allocation measurement is not supported by this JVM");
+        }
+        threads.setThreadAllocatedMemoryEnabled(true);
+        this.statementCount = statementCount;
+    }
+
+    /**
+     * Runs the operation {@code warmups} times unmeasured, then {@code operations}
+     * times measured. Without a budget the result is only reported.
+     */
+    PerfResult measure(String scenario, int warmups, int operations, PerfBudget budget, Runnable operation) {
+        for (int i = 0; i < warmups; i++) {
+            operation.run();
+        }
+
+        long[] durations = new long[operations];
+        long statementsBefore = statementCount.getAsLong();
+        long bytesBefore = threads.getTotalThreadAllocatedBytes();
+        for (int i = 0; i < operations; i++) {
+            long start = System.nanoTime();
+            operation.run();
+            durations[i] = System.nanoTime() - start;
+        }
+        long bytes = threads.getTotalThreadAllocatedBytes() - bytesBefore;
+        long statements = statementCount.getAsLong() - statementsBefore;
+
+        Arrays.sort(durations);
+        double statementsPerOperation = (double) statements / operations;
+        long bytesPerOperation = bytes / operations;
+        double p99Millis = millis(percentile(durations, 0.99));
+        return new PerfResult(scenario, operations, statementsPerOperation, bytesPerOperation,
+                millis(percentile(durations, 0.5)), p99Millis, millis(durations[operations - 1]), budget,
+                budget != null ? budget.violations(statementsPerOperation, bytesPerOperation, p99Millis) : List.of());
+    }
+
+    private static long percentile(long[] sorted, double percentile) {
+        return sorted[Math.min(sorted.length - 1, (int) Math.ceil(percentile * sorted.length) - 1)];
+    }
+
+    private static double millis(long nanos) {
+        return Math.round(nanos / 10_000.0) / 100.0;
+    }
+}
@@ -0,0 +1,38 @@
+package example.perf;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Collects the results of a run and writes them as JSON, so that CI can archive
+ * reports and compare them between builds.
+ */
+class PerfReport {
+
+    private final List<PerfResult> results = new ArrayList<>();
+
+    synchronized void add(PerfResult result) {
+        results.add(result);
+    }
+
+    synchronized void write(Path file) throws IOException {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("timestamp", Instant.now().toString());
+        report.put("javaVersion", Runtime.version().toString());
+        report.put("availableProcessors", Runtime.getRuntime().availableProcessors());
+        report.put("withinBudget", results.stream().allMatch(PerfResult::withinBudget));
+        report.put("scenarios", results);
+
+        Files.createDirectories(file.getParent());
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(file.toFile(), report);
+    }
+}
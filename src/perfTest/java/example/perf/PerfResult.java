@@ -0,0 +1,22 @@
+package example.perf;
+
+import java.util.List;
+
+/**
+ * Measurements of one scenario, as written to the report. All values are per operation.
+ */
+record PerfResult(
+        String scenario,
+        int operations,
+        double statements,
+        long allocatedBytes,
+        double p50Millis,
+        double p99Millis,
+        double maxMillis,
+        PerfBudget budget,
+        List<String> violations) {
+
+    boolean withinBudget() {
+        return violations.isEmpty();
+    }
+}
@@ -0,0 +1,217 @@
+package example.perf;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Performance scenarios against the running application over HTTP, with 100,000
+ * users in the database. Each scenario has a budget for SQL statements, allocation
+ * and p99 latency per operation; all results are written to
+ * {@code build/reports/perf/perf-report.json}, whether or not they are within budget.
+ *
+ * <p>The concurrency limit is turned off, it would shed parts of the batches
+ * instead of letting them be measured.
+ *
+ * <p>Statement counts must match exactly, so an added query fails the scenario. Open
+ * session in view is turned off, so that every repository call has a persistence
+ * context of its own whether an operation runs on the request thread or in a batch.
+ * A mutation mix then takes 7: an INSERT for createUser; a SELECT by ID and the
+ * SELECT and UPDATE of merging the detached user for updateUser; a COUNT for the
+ * existence check and a SELECT and DELETE for deleteUser. Allocation and latency
+ * budgets leave headroom for slower CI machines, so compare the reports between
+ * builds to spot gradual regressions.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "app.data-loader.async=false",
+        "app.graphql.concurrency.enabled=false",
+        "spring.jpa.show-sql=false",
+        "spring.jpa.open-in-view=false"
+})
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@DisplayName("User Performance Tests")
+class UserPerformanceTest {
+
+    private static final int USERS = 100_000;
+
+    private static final int WARMUPS = 200;
+
+    private static final int OPERATIONS = 500;
+
+    private static final int BATCH_SIZE = 20;
+
+    private static final int MEGABYTE = 1024 * 1024;
+
+    private final PerfReport report = new PerfReport();
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final HttpClient httpClient = HttpClient.newHttpClient();
+
+    private final Random random = new Random(42);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @LocalServerPort
+    private int port;
+
+    private PerfMeter meter;
+
+    private URI graphQlUri;
+
+    private List<UUID> userIds;
+
+    @BeforeAll
+    void setUp() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        meter = new PerfMeter(statistics::getPrepareStatementCount);
+        graphQlUri = URI.create("http://localhost:" + port + "/graphql");
+
+        // Insert directly, loading 100,000 users through GraphQL would dominate the run
+        userIds = new ArrayList<>(USERS);
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 0; i < USERS; i++) {
+            UUID id = UUID.randomUUID();
+            userIds.add(id);
+            rows.add(new Object[] {id, "Perf User " + i, "perf.user" + i + "@example.com"});
+            if (rows.size() == 1000) {
+                jdbcTemplate.batchUpdate("INSERT INTO users (id, name, email) VALUES (?, ?, ?)", rows);
+                rows.clear();
+            }
+        }
+    }
+
+    @AfterAll
+    void writeReport() throws IOException {
+        report.write(Path.of(System.getProperty("perf.reportDir", "build/reports/perf"), "perf-report.json"));
+    }
+
+    @Test
+    @DisplayName("users page over 100k rows")
+    void usersPage() {
+        // Given
+        List<String> requests = new ArrayList<>();
+        for (int i = 0; i < WARMUPS + OPERATIONS; i++) {
+            requests.add(operation("query($after: UUID) { users(first: 100, after: $after) { id name email } }",
+                    "{\"after\": \"" + randomUserId() + "\"}"));
+        }
+        PerfBudget budget = new PerfBudget(1, 4 * MEGABYTE, 50);
+
+        // When
+        PerfResult result = measure("usersPage", budget, requests.iterator());
+
+        // Then
+        assertTrue(result.withinBudget(), result.violations().toString());
+    }
+
+    @Test
+    @DisplayName("batched user(id) lookups")
+    void batchedUserLookups() {
+        // Given
+        List<String> requests = new ArrayList<>();
+        for (int i = 0; i < WARMUPS + OPERATIONS; i++) {
+            List<String> batch = new ArrayList<>();
+            for (int j = 0; j < BATCH_SIZE; j++) {
+                batch.add(operation("query($id: UUID!) { user(id: $id) { id name email } }",
+                        "{\"id\": \"" + randomUserId() + "\"}"));
+            }
+            requests.add("[" + String.join(",", batch) + "]");
+        }
+        PerfBudget budget = new PerfBudget(BATCH_SIZE, 8 * MEGABYTE, 100);
+
+        // When
+        PerfResult result = measure("batchedUserLookups", budget, requests.iterator());
+
+        // Then
+        assertTrue(result.withinBudget(), result.violations().toString());
+    }
+
+    @Test
+    @DisplayName("mutation mix of create, update and delete")
+    void mutationMix() {
+        // Given
+        int[] sequence = {0};
+        PerfBudget budget = new PerfBudget(7, 6 * MEGABYTE, 100);
+
+        // When
+        PerfResult result = meter.measure("mutationMix", WARMUPS, OPERATIONS, budget, () -> {
+            int n = sequence[0]++;
+            JsonNode created = post(operation(
+                    "mutation($email: String!) { createUser(name: \\\"Mix User\\\", email: $email) { id } }",
+                    "{\"email\": \"mix" + n + "@example.com\"}"));
+            String id = created.path("data").path("createUser").path("id").asText();
+            post(operation(
+                    "mutation($id: UUID!, $email: String!) { updateUser(id: $id, name: \\\"Mixed User\\\", email: $email) { id } }",
+                    "{\"id\": \"" + id + "\", \"email\": \"mixed" + n + "@example.com\"}"));
+            post(operation("mutation($id: UUID!) { deleteUser(id: $id) }", "{\"id\": \"" + id + "\"}"));
+        });
+        report.add(result);
+
+        // Then
+        assertTrue(result.withinBudget(), result.violations().toString());
+    }
+
+    private PerfResult measure(String scenario, PerfBudget budget, Iterator<String> requests) {
+        PerfResult result = meter.measure(scenario, WARMUPS, OPERATIONS, budget, () -> post(requests.next()));
+        report.add(result);
+        return result;
+    }
+
+    private UUID randomUserId() {
+        return userIds.get(random.nextInt(userIds.size()));
+    }
+
+    private static String operation(String query, String variables) {
+        return "{\"query\": \"" + query + "\", \"variables\": " + variables + "}";
+    }
+
+    private JsonNode post(String body) {
+        HttpRequest request = HttpRequest.newBuilder(graphQlUri)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+        try {
+            HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+            assertEquals(200, response.statusCode(), response.body());
+            JsonNode result = objectMapper.readTree(response.body());
+            assertTrue(result.findValues("errors").isEmpty(), response.body());
+            return result;
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(ex);
+        }
+    }
+}
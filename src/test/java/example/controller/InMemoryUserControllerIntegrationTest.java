@@ -0,0 +1,35 @@
+package example.controller;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.nio.file.Path;
+import java.util.UUID;
+
+/**
+ * Runs the {@link UserControllerIntegrationTest} scenarios against the in-memory user store.
+ */
+@SpringBootTest(properties = {
+        "app.data-loader.async=false",
+        "app.user-store=memory",
+        "app.memory-store.journal-size=1MB",
+        "app.memory-store.force-writes=false"
+})
+@DisplayName("UserController Integration Tests (in-memory store)")
+class InMemoryUserControllerIntegrationTest extends UserControllerIntegrationTest {
+
+    @TempDir
+    static Path storeRoot;
+
+    /**
+     * Every context gets a journal directory of its own, removed with {@code storeRoot}
+     * after the tests.
+     */
+    @DynamicPropertySource
+    static void memoryStoreProperties(DynamicPropertyRegistry registry) {
+        registry.add("app.memory-store.directory", () -> storeRoot.resolve(UUID.randomUUID().toString()).toString());
+    }
+}
@@ -0,0 +1,87 @@
+package example.controller;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.graphql.tester.AutoConfigureGraphQlTester;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.graphql.test.tester.GraphQlTester;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import javax.sql.DataSource;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Starts the application with the {@code memory} profile, which runs without a
+ * datasource or JPA, and therefore without test transactions. The context is closed
+ * after the tests so that the store is closed before its directory is removed.
+ */
+@SpringBootTest(properties = {
+        "spring.profiles.active=memory",
+        "app.data-loader.async=false",
+        "app.memory-store.journal-size=1MB",
+        "app.memory-store.force-writes=false"
+})
+@AutoConfigureGraphQlTester
+@DirtiesContext
+@DisplayName("Memory profile Integration Tests")
+class MemoryProfileIntegrationTest {
+
+    @TempDir
+    static Path storeDirectory;
+
+    @Autowired
+    private GraphQlTester graphQlTester;
+
+    @Autowired
+    private ApplicationContext applicationContext;
+
+    @DynamicPropertySource
+    static void memoryStoreProperties(DynamicPropertyRegistry registry) {
+        registry.add("app.memory-store.directory", () -> storeDirectory.toString());
+    }
+
+    @Test
+    @DisplayName("Should start without a datasource")
+    void context_ShouldNotContainDataSource() {
+        // When & Then
+        assertEquals(0, applicationContext.getBeanNamesForType(DataSource.class).length);
+    }
+
+    @Test
+    @DisplayName("Should create, read and delete a user")
+    void createReadDelete_ShouldUseMemoryStore() {
+        // Given
+        String id = graphQlTester.document("""
+                mutation { createUser(name: "Memory User", email: "memory@example.com") { id } }
+                """)
+                .execute()
+                .path("createUser.id")
+                .entity(String.class)
+                .get();
+
+        // When & Then
+        graphQlTester.document("query($id: UUID!) { user(id: $id) { name email } }")
+                .variable("id", id)
+                .execute()
+                .path("user.name").entity(String.class).isEqualTo("Memory User")
+                .path("user.email").entity(String.class).isEqualTo("memory@example.com");
+
+        graphQlTester.document("mutation($id: UUID!) { deleteUser(id: $id) }")
+                .variable("id", id)
+                .execute()
+                .path("deleteUser").entity(Boolean.class).isEqualTo(true);
+
+        graphQlTester.document("query($id: UUID!) { user(id: $id) { id } }")
+                .variable("id", id)
+                .execute()
+                .path("user")
+                .valueIsNull();
+    }
+}
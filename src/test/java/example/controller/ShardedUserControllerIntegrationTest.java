@@ -0,0 +1,15 @@
+package example.controller;
+
+import org.junit.jupiter.api.DisplayName;
+import org.springframework.boot.test.context.SpringBootTest;
+
+/**
+ * Runs the {@link UserControllerIntegrationTest} scenarios against the sharded user store.
+ */
+@SpringBootTest(properties = {
+        "app.data-loader.async=false",
+        "app.user-store=sharded"
+})
+@DisplayName("UserController Integration Tests (sharded store)")
+class ShardedUserControllerIntegrationTest extends UserControllerIntegrationTest {
+}
@@ -9,15 +9,18 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.graphql.tester.AutoConfigureGraphQlTester;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.graphql.ResponseError;
+import org.springframework.graphql.execution.ErrorType;
 import org.springframework.graphql.test.tester.GraphQlTester;
 import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
 
-@SpringBootTest
+@SpringBootTest(properties = "app.data-loader.async=false")
 @AutoConfigureGraphQlTester
 @Transactional
 @DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
@@ -58,11 +61,40 @@ class UserControllerIntegrationTest {
                 });
     }
 
+    @Test
+    @DisplayName("Should fetch users page by page in ID order")
+    void users_WhenPaginated_ShouldFetchPages() {
+        // Given
+        userRepository.save(new User("Jane Smith", "jane@example.com"));
+        String document = "query($first: Int, $after: UUID) { users(first: $first, after: $after) { id name } }";
+
+        // When
+        User first = graphQlTester.document(document)
+                .variable("first", 1)
+                .execute()
+                .path("users")
+                .entityList(User.class)
+                .hasSize(1)
+                .get().get(0);
+
+        // Then
+        graphQlTester.document(document)
+                .variable("first", 10)
+                .variable("after", first.getId().toString())
+                .execute()
+                .path("users")
+                .entityList(User.class)
+                .satisfies(users -> {
+                    assertEquals(1, users.size());
+                    assertNotEquals(first.getId(), users.get(0).getId());
+                });
+    }
+
     @Test
     @DisplayName("Should fetch user by ID")
     void user_WhenUserExists_ShouldFetchUser() {
         // When & Then
-        graphQlTester.document("query($id: ID!) { user(id: $id) { id name email } }")
+        graphQlTester.document("query($id: UUID!) { user(id: $id) { id name email } }")
                 .variable("id", testUser.getId().toString())
                 .execute()
                 .path("user")
@@ -79,7 +111,7 @@ class UserControllerIntegrationTest {
     void user_WhenUserDoesNotExist_ShouldReturnNull() {
         // When & Then
         String nonExistentId = UUID.randomUUID().toString();
-        graphQlTester.document("query($id: ID!) { user(id: $id) { id name email } }")
+        graphQlTester.document("query($id: UUID!) { user(id: $id) { id name email } }")
                 .variable("id", nonExistentId)
                 .execute()
                 .path("user")
@@ -87,16 +119,55 @@ class UserControllerIntegrationTest {
     }
 
     @Test
-    @DisplayName("Should return null for invalid UUID format")
-    void user_WhenInvalidUUID_ShouldReturnNull() {
+    @DisplayName("Should fetch user by email")
+    void userByEmail_WhenUserExists_ShouldFetchUser() {
         // When & Then
-        graphQlTester.document("query($id: ID!) { user(id: $id) { id name email } }")
-                .variable("id", "invalid-uuid")
+        graphQlTester.document("query($email: String!) { userByEmail(email: $email) { id name } }")
+                .variable("email", "john@example.com")
                 .execute()
-                .path("user")
+                .path("userByEmail")
+                .entity(User.class)
+                .satisfies(user -> {
+                    assertEquals(testUser.getId(), user.getId());
+                    assertEquals("John Doe", user.getName());
+                });
+    }
+
+    @Test
+    @DisplayName("Should return null for unknown email")
+    void userByEmail_WhenUserDoesNotExist_ShouldReturnNull() {
+        // When & Then
+        graphQlTester.document("query($email: String!) { userByEmail(email: $email) { id } }")
+                .variable("email", "nobody@example.com")
+                .execute()
+                .path("userByEmail")
                 .valueIsNull();
     }
 
+    @Test
+    @DisplayName("Should return bad user input error for invalid UUID format")
+    void user_WhenInvalidUUID_ShouldReturnError() {
+        // When & Then
+        graphQlTester.document("query($id: UUID!) { user(id: $id) { id name email } }")
+                .variable("id", "invalid-uuid")
+                .execute()
+                .errors()
+                .satisfy(errors -> assertBadUserInput(errors));
+    }
+
+    @Test
+    @DisplayName("Should return validation error for invalid UUID literal")
+    void user_WhenInvalidUUIDLiteral_ShouldReturnValidationError() {
+        // When & Then
+        graphQlTester.document("{ user(id: \"invalid-uuid\") { id name email } }")
+                .execute()
+                .errors()
+                .satisfy(errors -> {
+                    assertEquals(1, errors.size());
+                    assertEquals("ValidationError", errors.get(0).getExtensions().get("classification"));
+                });
+    }
+
     @Test
     @DisplayName("Should create new user")
     void createUser_ShouldCreateNewUser() {
@@ -132,7 +203,7 @@ class UserControllerIntegrationTest {
     void updateUser_WhenUserExists_ShouldUpdateUser() {
         // When & Then
         graphQlTester.document("""
-                mutation($id: ID!, $name: String!, $email: String!) {
+                mutation($id: UUID!, $name: String!, $email: String!) {
                     updateUser(id: $id, name: $name, email: $email) {
                         id
                         name
@@ -164,7 +235,7 @@ class UserControllerIntegrationTest {
     void updateUser_WhenInvalidUUID_ShouldReturnError() {
         // When & Then
         graphQlTester.document("""
-                mutation($id: ID!, $name: String!, $email: String!) {
+                mutation($id: UUID!, $name: String!, $email: String!) {
                     updateUser(id: $id, name: $name, email: $email) {
                         id
                         name
@@ -177,7 +248,70 @@ class UserControllerIntegrationTest {
                 .variable("email", "updated@example.com")
                 .execute()
                 .errors()
-                .satisfy(errors -> assertFalse(errors.isEmpty()));
+                .satisfy(errors -> assertBadUserInput(errors));
+    }
+
+    @Test
+    @DisplayName("Should return email taken error when creating user with taken email")
+    void createUser_WhenEmailIsTaken_ShouldReturnEmailTaken() {
+        // Given
+        String document = "mutation($email: String!) { createUser(name: \"New User\", email: $email) { id } }";
+        graphQlTester.document(document)
+                .variable("email", "newuser@example.com")
+                .execute()
+                .path("createUser.id")
+                .hasValue();
+
+        // When & Then
+        graphQlTester.document(document)
+                .variable("email", "newuser@example.com")
+                .execute()
+                .errors()
+                .satisfy(errors -> assertEmailTaken(errors));
+
+        assertEquals(2, userRepository.count());
+    }
+
+    @Test
+    @DisplayName("Should return email taken error when updating user to taken email")
+    void updateUser_WhenEmailIsTaken_ShouldReturnEmailTaken() {
+        // Given
+        graphQlTester.document("mutation { createUser(name: \"Jane Smith\", email: \"jane@example.com\") { id } }")
+                .execute()
+                .path("createUser.id")
+                .hasValue();
+
+        // When & Then
+        graphQlTester.document("mutation($id: UUID!) { updateUser(id: $id, name: \"John Doe\", email: \"jane@example.com\") { id } }")
+                .variable("id", testUser.getId().toString())
+                .execute()
+                .errors()
+                .satisfy(errors -> assertEmailTaken(errors));
+
+        assertEquals("john@example.com", userRepository.findById(testUser.getId()).orElseThrow().getEmail());
+    }
+
+    @Test
+    @DisplayName("Should return not found error when updating non-existent user")
+    void updateUser_WhenUserDoesNotExist_ShouldReturnNotFound() {
+        // When & Then
+        graphQlTester.document("""
+                mutation($id: UUID!, $name: String!, $email: String!) {
+                    updateUser(id: $id, name: $name, email: $email) {
+                        id
+                    }
+                }
+                """)
+                .variable("id", UUID.randomUUID().toString())
+                .variable("name", "Updated Name")
+                .variable("email", "updated@example.com")
+                .execute()
+                .errors()
+                .satisfy(errors -> {
+                    assertEquals(1, errors.size());
+                    assertEquals(ErrorType.NOT_FOUND, errors.get(0).getErrorType());
+                    assertEquals("User not found", errors.get(0).getMessage());
+                });
     }
 
     @Test
@@ -185,7 +319,7 @@ class UserControllerIntegrationTest {
     void deleteUser_WhenUserExists_ShouldDeleteUser() {
         // When & Then
         graphQlTester.document("""
-                mutation($id: ID!) {
+                mutation($id: UUID!) {
                     deleteUser(id: $id)
                 }
                 """)
@@ -206,7 +340,7 @@ class UserControllerIntegrationTest {
         // When & Then
         String nonExistentId = UUID.randomUUID().toString();
         graphQlTester.document("""
-                mutation($id: ID!) {
+                mutation($id: UUID!) {
                     deleteUser(id: $id)
                 }
                 """)
@@ -218,18 +352,33 @@ class UserControllerIntegrationTest {
     }
 
     @Test
-    @DisplayName("Should return false for invalid UUID in delete")
-    void deleteUser_WhenInvalidUUID_ShouldReturnFalse() {
+    @DisplayName("Should return bad user input error for invalid UUID in delete")
+    void deleteUser_WhenInvalidUUID_ShouldReturnError() {
         // When & Then
         graphQlTester.document("""
-                mutation($id: ID!) {
+                mutation($id: UUID!) {
                     deleteUser(id: $id)
                 }
                 """)
                 .variable("id", "invalid-uuid")
                 .execute()
-                .path("deleteUser")
-                .entity(Boolean.class)
-                .satisfies(Assertions::assertFalse);
+                .errors()
+                .satisfy(errors -> assertBadUserInput(errors));
+
+        // Verify nothing was deleted
+        assertEquals(1, userRepository.count());
+    }
+
+    private static void assertBadUserInput(List<ResponseError> errors) {
+        assertEquals(1, errors.size());
+        assertEquals("BAD_USER_INPUT", errors.get(0).getExtensions().get("code"));
+        // graphql-java reports variable coercion errors as validation errors, keeping only the extensions
+        assertEquals("ValidationError", errors.get(0).getExtensions().get("classification"));
+    }
+
+    private static void assertEmailTaken(List<ResponseError> errors) {
+        assertEquals(1, errors.size());
+        assertEquals("EMAIL_TAKEN", errors.get(0).getExtensions().get("classification"));
+        assertEquals("Email already in use", errors.get(0).getMessage());
     }
 }
\ No newline at end of file
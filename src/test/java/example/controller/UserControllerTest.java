@@ -1,6 +1,7 @@
 package example.controller;
 
 import example.entity.User;
+import example.service.UserNotFoundException;
 import example.service.UserService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -50,26 +51,39 @@ class UserControllerTest {
     void users_ShouldReturnAllUsers() {
         // Given
         List<User> expectedUsers = Arrays.asList(testUser, testUser2);
-        when(userService.getAllUsers()).thenReturn(expectedUsers);
+        when(userService.getUsers(null, null)).thenReturn(expectedUsers);
 
         // When
-        List<User> result = userController.users();
+        List<User> result = userController.users(null, null);
 
         // Then
         assertEquals(2, result.size());
         assertEquals(expectedUsers, result);
-        verify(userService, times(1)).getAllUsers();
+        verify(userService, times(1)).getUsers(null, null);
+    }
+
+    @Test
+    @DisplayName("Should return a page of users")
+    void users_WhenPaginated_ShouldReturnPage() {
+        // Given
+        when(userService.getUsers(testUserId, 1)).thenReturn(List.of(testUser2));
+
+        // When
+        List<User> result = userController.users(testUserId, 1);
+
+        // Then
+        assertEquals(List.of(testUser2), result);
+        verify(userService, times(1)).getUsers(testUserId, 1);
     }
 
     @Test
     @DisplayName("Should return user when exists")
     void user_WhenUserExists_ShouldReturnUser() {
         // Given
-        String userIdString = testUserId.toString();
         when(userService.getUserById(testUserId)).thenReturn(Optional.of(testUser));
 
         // When
-        User result = userController.user(userIdString);
+        User result = userController.user(testUserId);
 
         // Then
         assertNotNull(result);
@@ -79,33 +93,32 @@ class UserControllerTest {
     }
 
     @Test
-    @DisplayName("Should return null when user does not exist")
-    void user_WhenUserDoesNotExist_ShouldReturnNull() {
+    @DisplayName("Should return user by email")
+    void userByEmail_WhenUserExists_ShouldReturnUser() {
         // Given
-        UUID nonExistentId = UUID.randomUUID();
-        String userIdString = nonExistentId.toString();
-        when(userService.getUserById(nonExistentId)).thenReturn(Optional.empty());
+        when(userService.getUserByEmail("john@example.com")).thenReturn(Optional.of(testUser));
 
         // When
-        User result = userController.user(userIdString);
+        User result = userController.userByEmail("john@example.com");
 
         // Then
-        assertNull(result);
-        verify(userService, times(1)).getUserById(nonExistentId);
+        assertEquals(testUser, result);
+        verify(userService, times(1)).getUserByEmail("john@example.com");
     }
 
     @Test
-    @DisplayName("Should return null for invalid UUID format")
-    void user_WhenInvalidUUID_ShouldReturnNull() {
+    @DisplayName("Should return null when user does not exist")
+    void user_WhenUserDoesNotExist_ShouldReturnNull() {
         // Given
-        String invalidUUID = "invalid-uuid";
+        UUID nonExistentId = UUID.randomUUID();
+        when(userService.getUserById(nonExistentId)).thenReturn(Optional.empty());
 
         // When
-        User result = userController.user(invalidUUID);
+        User result = userController.user(nonExistentId);
 
         // Then
         assertNull(result);
-        verify(userService, never()).getUserById(any(UUID.class));
+        verify(userService, times(1)).getUserById(nonExistentId);
     }
 
     @Test
@@ -133,7 +146,6 @@ class UserControllerTest {
     @DisplayName("Should update existing user")
     void updateUser_ShouldUpdateAndReturnUser() {
         // Given
-        String userIdString = testUserId.toString();
         String updatedName = "Updated Name";
         String updatedEmail = "updated@example.com";
         User updatedUser = new User(updatedName, updatedEmail);
@@ -142,7 +154,7 @@ class UserControllerTest {
         when(userService.updateUser(testUserId, updatedName, updatedEmail)).thenReturn(updatedUser);
 
         // When
-        User result = userController.updateUser(userIdString, updatedName, updatedEmail);
+        User result = userController.updateUser(testUserId, updatedName, updatedEmail);
 
         // Then
         assertNotNull(result);
@@ -153,30 +165,27 @@ class UserControllerTest {
     }
 
     @Test
-    @DisplayName("Should throw exception for invalid UUID in update")
-    void updateUser_WhenInvalidUUID_ShouldThrowException() {
+    @DisplayName("Should propagate not found when updating non-existent user")
+    void updateUser_WhenUserDoesNotExist_ShouldThrowNotFound() {
         // Given
-        String invalidUUID = "invalid-uuid";
+        UUID nonExistentId = UUID.randomUUID();
         String name = "Updated Name";
         String email = "updated@example.com";
+        when(userService.updateUser(nonExistentId, name, email)).thenThrow(new UserNotFoundException());
 
         // When & Then
-        RuntimeException exception = assertThrows(RuntimeException.class,
-            () -> userController.updateUser(invalidUUID, name, email));
-        
-        assertEquals("Invalid UUID format", exception.getMessage());
-        verify(userService, never()).updateUser(any(UUID.class), anyString(), anyString());
+        assertThrows(UserNotFoundException.class,
+            () -> userController.updateUser(nonExistentId, name, email));
     }
 
     @Test
     @DisplayName("Should delete user successfully")
     void deleteUser_WhenUserExists_ShouldReturnTrue() {
         // Given
-        String userIdString = testUserId.toString();
         when(userService.deleteUser(testUserId)).thenReturn(true);
 
         // When
-        Boolean result = userController.deleteUser(userIdString);
+        Boolean result = userController.deleteUser(testUserId);
 
         // Then
         assertTrue(result);
@@ -188,28 +197,13 @@ class UserControllerTest {
     void deleteUser_WhenUserDoesNotExist_ShouldReturnFalse() {
         // Given
         UUID nonExistentId = UUID.randomUUID();
-        String userIdString = nonExistentId.toString();
         when(userService.deleteUser(nonExistentId)).thenReturn(false);
 
         // When
-        Boolean result = userController.deleteUser(userIdString);
+        Boolean result = userController.deleteUser(nonExistentId);
 
         // Then
         assertFalse(result);
         verify(userService, times(1)).deleteUser(nonExistentId);
     }
-
-    @Test
-    @DisplayName("Should return false for invalid UUID in delete")
-    void deleteUser_WhenInvalidUUID_ShouldReturnFalse() {
-        // Given
-        String invalidUUID = "invalid-uuid";
-
-        // When
-        Boolean result = userController.deleteUser(invalidUUID);
-
-        // Then
-        assertFalse(result);
-        verify(userService, never()).deleteUser(any(UUID.class));
-    }
 }
\ No newline at end of file
@@ -0,0 +1,82 @@
+package example.graphql;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("AdaptiveConcurrencyLimit Tests")
+class AdaptiveConcurrencyLimitTest {
+
+    @Test
+    @DisplayName("Should reject requests once the limit is reached")
+    void tryAcquire_WhenLimitReached_ShouldReject() {
+        // Given
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(2, 1, 10);
+
+        // When & Then
+        assertTrue(limit.tryAcquire());
+        assertTrue(limit.tryAcquire());
+        assertFalse(limit.tryAcquire());
+        assertEquals(2, limit.getInflight());
+
+        limit.release(1_000_000);
+        assertTrue(limit.tryAcquire());
+    }
+
+    @Test
+    @DisplayName("Should grow the limit while latency is stable")
+    void release_WhenLatencyIsStable_ShouldGrowLimit() {
+        // Given
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(4, 1, 100);
+
+        // When
+        saturate(limit, 50, 1_000_000);
+
+        // Then
+        assertTrue(limit.getLimit() > 4);
+    }
+
+    @Test
+    @DisplayName("Should shrink the limit when latency increases")
+    void release_WhenLatencyIncreases_ShouldShrinkLimit() {
+        // Given
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(4, 1, 100);
+        saturate(limit, 50, 1_000_000);
+        int grownLimit = limit.getLimit();
+
+        // When
+        saturate(limit, 2, 50_000_000);
+
+        // Then
+        assertTrue(limit.getLimit() < grownLimit);
+    }
+
+    @Test
+    @DisplayName("Should keep the limit within its bounds")
+    void release_ShouldRespectBounds() {
+        // Given
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(50, 5, 8);
+
+        // When
+        saturate(limit, 50, 1_000_000);
+        int max = limit.getLimit();
+        saturate(limit, 30, 500_000_000);
+
+        // Then
+        assertEquals(8, max);
+        assertEquals(5, limit.getLimit());
+    }
+
+    private void saturate(AdaptiveConcurrencyLimit limit, int rounds, long rttNanos) {
+        for (int round = 0; round < rounds; round++) {
+            int acquired = 0;
+            while (limit.tryAcquire()) {
+                acquired++;
+            }
+            for (int i = 0; i < acquired; i++) {
+                limit.release(rttNanos);
+            }
+        }
+    }
+}
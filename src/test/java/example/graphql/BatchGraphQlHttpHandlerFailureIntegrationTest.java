@@ -0,0 +1,62 @@
+package example.graphql;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.graphql.server.WebGraphQlInterceptor;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Mono;
+
+/**
+ * Batches in which one operation fails with an exception outside of GraphQL execution.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureWebTestClient
+@DisplayName("Batched GraphQL over HTTP Failure Integration Tests")
+class BatchGraphQlHttpHandlerFailureIntegrationTest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Test
+    @DisplayName("Should return the other results when one operation of a batch fails")
+    void post_WhenOperationFails_ShouldReturnOtherResults() {
+        // When & Then
+        webTestClient.post().uri("/graphql")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("""
+                        [
+                          { "query": "mutation { createUser(name: \\"Batch\\", email: \\"batch-failure@example.com\\") { email } }" },
+                          { "query": "query Fail { users { id } }", "operationName": "Fail" },
+                          { "query": "{ userByEmail(email: \\"batch-failure@example.com\\") { name } }" }
+                        ]
+                        """)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(3)
+                .jsonPath("$[0].data.createUser.email").isEqualTo("batch-failure@example.com")
+                .jsonPath("$[1].errors[0].message").isEqualTo("Internal error")
+                .jsonPath("$[1].errors[0].extensions.classification").isEqualTo("INTERNAL_ERROR")
+                .jsonPath("$[2].data.userByEmail.name").isEqualTo("Batch");
+    }
+
+    @TestConfiguration
+    static class FailingOperationConfig {
+
+        /**
+         * Fails the operation named {@code Fail} before it is executed.
+         */
+        @Bean
+        WebGraphQlInterceptor failingOperationInterceptor() {
+            return (request, chain) -> "Fail".equals(request.getOperationName())
+                    ? Mono.error(new IllegalStateException("Operation failed"))
+                    : chain.next(request);
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package example.graphql;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.util.Collections;
+
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.not;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureWebTestClient
+@DisplayName("Batched GraphQL over HTTP Integration Tests")
+class BatchGraphQlHttpHandlerIntegrationTest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Test
+    @DisplayName("Should execute a single operation")
+    void post_WhenSingleOperation_ShouldReturnResult() {
+        // When & Then
+        webTestClient.post().uri("/graphql")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("""
+                        { "query": "{ users { id } }" }
+                        """)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.data.users").isArray();
+    }
+
+    @Test
+    @DisplayName("Should execute batched operations in order")
+    void post_WhenBatch_ShouldReturnResultsInOrder() {
+        // When & Then
+        webTestClient.post().uri("/graphql")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("""
+                        [
+                          { "query": "{ users { email } }" },
+                          {
+                            "query": "mutation($name: String!, $email: String!) { createUser(name: $name, email: $email) { email } }",
+                            "variables": { "name": "Batch User", "email": "batch@example.com" }
+                          },
+                          { "query": "{ users { email } }" }
+                        ]
+                        """)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(3)
+                .jsonPath("$[0].data.users[*].email").value(not(hasItem("batch@example.com")))
+                .jsonPath("$[1].data.createUser.email").isEqualTo("batch@example.com")
+                .jsonPath("$[2].data.users[*].email").value(hasItem("batch@example.com"));
+    }
+
+    @Test
+    @DisplayName("Should reject batches over the maximum size")
+    void post_WhenBatchTooLarge_ShouldReturnBadRequest() {
+        // Given
+        String operation = "{ \"query\": \"{ users { id } }\" }";
+        String batch = "[" + String.join(",", Collections.nCopies(21, operation)) + "]";
+
+        // When & Then
+        webTestClient.post().uri("/graphql")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(batch)
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.errors[0].message").exists();
+    }
+}
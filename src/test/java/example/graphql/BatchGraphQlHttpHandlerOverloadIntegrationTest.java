@@ -0,0 +1,66 @@
+package example.graphql;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.graphql.server.WebGraphQlInterceptor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.time.Duration;
+
+import static org.hamcrest.Matchers.hasItem;
+
+/**
+ * Batches against a concurrency limit of one, with every operation held for a while,
+ * so that one of two parallel queries is rejected.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "app.graphql.concurrency.initial-limit=1",
+        "app.graphql.concurrency.min-limit=1",
+        "app.graphql.concurrency.max-limit=1"
+})
+@AutoConfigureWebTestClient
+@DisplayName("Batched GraphQL over HTTP Overload Integration Tests")
+class BatchGraphQlHttpHandlerOverloadIntegrationTest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Test
+    @DisplayName("Should return Retry-After when an operation of a batch is rejected")
+    void post_WhenOperationRejected_ShouldReturnRetryAfter() {
+        // When & Then
+        webTestClient.post().uri("/graphql")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("""
+                        [
+                          { "query": "{ users { id } }" },
+                          { "query": "{ users { email } }" }
+                        ]
+                        """)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().exists(HttpHeaders.RETRY_AFTER)
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(2)
+                .jsonPath("$[*].errors[0].extensions.classification").value(hasItem("OVERLOADED"));
+    }
+
+    @TestConfiguration
+    static class SlowOperationConfig {
+
+        /**
+         * Runs inside the concurrency limit and keeps each admitted operation in flight.
+         */
+        @Bean
+        WebGraphQlInterceptor slowOperationInterceptor() {
+            return (request, chain) -> chain.next(request).delayElement(Duration.ofMillis(500));
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package example.graphql;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureWebTestClient
+@DisplayName("Concurrency Limit Metrics Integration Tests")
+class ConcurrencyLimitMetricsIntegrationTest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Test
+    @DisplayName("Should expose the query concurrency limit through the metrics endpoint")
+    void metrics_ShouldExposeConcurrencyLimit() {
+        // When & Then
+        webTestClient.get().uri("/actuator/metrics/graphql.concurrency.limit?tag=operation:query")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.name").isEqualTo("graphql.concurrency.limit")
+                .jsonPath("$.measurements[0].statistic").isEqualTo("VALUE")
+                .jsonPath("$.measurements[0].value").isNumber();
+    }
+
+    @Test
+    @DisplayName("Should expose in-flight operations through the metrics endpoint")
+    void metrics_ShouldExposeInflightOperations() {
+        // When & Then
+        webTestClient.get().uri("/actuator/metrics/graphql.concurrency.inflight")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.availableTags[0].tag").isEqualTo("operation");
+    }
+}
@@ -0,0 +1,42 @@
+package example.graphql;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("GraphQlOperationType Tests")
+class GraphQlOperationTypeTest {
+
+    @Test
+    @DisplayName("Should classify the query shorthand as a query")
+    void of_WhenShorthand_ShouldReturnQuery() {
+        assertEquals(GraphQlOperationType.QUERY, GraphQlOperationType.of("{ users { id } }", null));
+    }
+
+    @Test
+    @DisplayName("Should classify the first operation when no name is given")
+    void of_WhenNoOperationName_ShouldUseFirstOperation() {
+        String document = """
+                # delete a user
+                fragment UserFields on User { id }
+                mutation($id: ID!) { deleteUser(id: $id) }
+                """;
+
+        assertEquals(GraphQlOperationType.MUTATION, GraphQlOperationType.of(document, null));
+    }
+
+    @Test
+    @DisplayName("Should classify the named operation")
+    void of_WhenOperationName_ShouldUseNamedOperation() {
+        String document = """
+                query Users { users { name } }
+                mutation UsersCleanup { deleteUser(id: "}") }
+                query UsersById($id: ID!) { user(id: $id) { name } }
+                """;
+
+        assertEquals(GraphQlOperationType.QUERY, GraphQlOperationType.of(document, "Users"));
+        assertEquals(GraphQlOperationType.MUTATION, GraphQlOperationType.of(document, "UsersCleanup"));
+        assertEquals(GraphQlOperationType.QUERY, GraphQlOperationType.of(document, "UsersById"));
+    }
+}
@@ -0,0 +1,47 @@
+package example.graphql;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.util.Collections;
+
+/**
+ * Batched queries against the sharded store. Each {@code users} query of a batch runs
+ * on the application task executor and waits for its shard queries, so a batch larger
+ * than that pool must not starve the shard queries of threads.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "app.data-loader.async=false",
+        "app.user-store=sharded"
+})
+@AutoConfigureWebTestClient
+@DisplayName("Batched GraphQL over HTTP Integration Tests (sharded store)")
+class ShardedBatchGraphQlHttpHandlerIntegrationTest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Test
+    @DisplayName("Should execute a batch of 20 users queries")
+    void post_WhenBatchOfUsersQueries_ShouldReturnAllResults() {
+        // Given
+        String operation = "{ \"query\": \"{ users { id email } }\" }";
+        String batch = "[" + String.join(",", Collections.nCopies(20, operation)) + "]";
+
+        // When & Then
+        webTestClient.post().uri("/graphql")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(batch)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(20)
+                .jsonPath("$[19].data.users").isArray()
+                .jsonPath("$[*].errors").doesNotExist();
+    }
+}
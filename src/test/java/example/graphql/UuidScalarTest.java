@@ -0,0 +1,75 @@
+package example.graphql;
+
+import graphql.GraphQLContext;
+import graphql.execution.CoercedVariables;
+import graphql.language.IntValue;
+import graphql.language.StringValue;
+import graphql.schema.Coercing;
+import graphql.schema.CoercingParseLiteralException;
+import graphql.schema.CoercingParseValueException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigInteger;
+import java.util.Locale;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("UuidScalar Tests")
+class UuidScalarTest {
+
+    private final Coercing<?, ?> coercing = UuidScalar.INSTANCE.getCoercing();
+
+    private final GraphQLContext context = GraphQLContext.getDefault();
+
+    @Test
+    @DisplayName("Should parse canonical UUIDs in either case")
+    void parse_WhenCanonical_ShouldReturnUuid() {
+        UUID uuid = UUID.randomUUID();
+
+        assertEquals(uuid, UuidScalar.parse(uuid.toString()));
+        assertEquals(uuid, UuidScalar.parse(uuid.toString().toUpperCase()));
+    }
+
+    @Test
+    @DisplayName("Should return null for malformed UUIDs")
+    void parse_WhenMalformed_ShouldReturnNull() {
+        assertNull(UuidScalar.parse("invalid-uuid"));
+        assertNull(UuidScalar.parse("123e4567-e89b-12d3-a456-42661417400g"));
+        assertNull(UuidScalar.parse("123e4567e89b-12d3-a456-4266141740000"));
+        assertNull(UuidScalar.parse("1-1-1-1-1"));
+    }
+
+    @Test
+    @DisplayName("Should coerce variable values")
+    void parseValue_ShouldCoerceValues() {
+        UUID uuid = UUID.randomUUID();
+
+        assertEquals(uuid, coercing.parseValue(uuid.toString(), context, Locale.getDefault()));
+        CoercingParseValueException exception = assertThrows(CoercingParseValueException.class,
+            () -> coercing.parseValue("invalid-uuid", context, Locale.getDefault()));
+        assertEquals(GraphQlErrorType.BAD_USER_INPUT.name(), exception.getExtensions().get("code"));
+        assertEquals(0, exception.getStackTrace().length);
+    }
+
+    @Test
+    @DisplayName("Should coerce literals")
+    void parseLiteral_ShouldCoerceLiterals() {
+        UUID uuid = UUID.randomUUID();
+
+        assertEquals(uuid, coercing.parseLiteral(StringValue.of(uuid.toString()),
+                CoercedVariables.emptyVariables(), context, Locale.getDefault()));
+        CoercingParseLiteralException exception = assertThrows(CoercingParseLiteralException.class, () -> coercing.parseLiteral(
+                new IntValue(BigInteger.ONE), CoercedVariables.emptyVariables(), context, Locale.getDefault()));
+        assertEquals(0, exception.getStackTrace().length);
+    }
+
+    @Test
+    @DisplayName("Should serialize UUIDs to their string form")
+    void serialize_ShouldReturnString() {
+        UUID uuid = UUID.randomUUID();
+
+        assertEquals(uuid.toString(), coercing.serialize(uuid, context, Locale.getDefault()));
+    }
+}
@@ -0,0 +1,174 @@
+package example.repository;
+
+import example.entity.User;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("InMemoryUserRepository Tests")
+class InMemoryUserRepositoryTest {
+
+    @TempDir
+    Path directory;
+
+    private InMemoryUserRepository userRepository;
+
+    @BeforeEach
+    void setUp() {
+        userRepository = open(1000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        userRepository.destroy();
+    }
+
+    @Test
+    @DisplayName("Should save, update and delete users")
+    void saveAndDelete_ShouldUpdateState() {
+        // Given
+        User user = userRepository.save(new User("John Doe", "john@example.com"));
+
+        // When
+        user.setName("John Smith");
+        userRepository.save(user);
+
+        // Then
+        assertNotNull(user.getId());
+        assertEquals("John Smith", userRepository.findById(user.getId()).orElseThrow().getName());
+        assertEquals(1, userRepository.count());
+
+        userRepository.deleteById(user.getId());
+        assertFalse(userRepository.existsById(user.getId()));
+        assertEquals(0, userRepository.count());
+    }
+
+    @Test
+    @DisplayName("Should reject duplicate emails and release emails of changed users")
+    void save_WhenEmailTaken_ShouldThrowException() {
+        // Given
+        User user = userRepository.save(new User("John Doe", "john@example.com"));
+
+        // When & Then
+        assertThrows(DataIntegrityViolationException.class,
+            () -> userRepository.save(new User("Other John", "john@example.com")));
+
+        user.setEmail("john.doe@example.com");
+        userRepository.save(user);
+        assertDoesNotThrow(() -> userRepository.save(new User("Other John", "john@example.com")));
+    }
+
+    @Test
+    @DisplayName("Should find users by their current email")
+    void findByEmail_ShouldFollowEmailChanges() {
+        // Given
+        User user = userRepository.save(new User("John Doe", "john@example.com"));
+
+        // When
+        user.setEmail("john.doe@example.com");
+        userRepository.save(user);
+
+        // Then
+        assertEquals(user.getId(), userRepository.findByEmail("john.doe@example.com").orElseThrow().getId());
+        assertTrue(userRepository.findByEmail("john@example.com").isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should return the emails of all users")
+    void findAllEmails_ShouldReturnCurrentEmails() {
+        // Given
+        List<User> users = saveUsers(userRepository, 4);
+        User renamed = users.get(0);
+        renamed.setEmail("renamed@example.com");
+        userRepository.save(renamed);
+        userRepository.deleteById(users.get(1).getId());
+
+        // When
+        List<String> emails = userRepository.findAllEmails();
+
+        // Then
+        assertEquals(3, emails.size());
+        assertEquals(Set.of("renamed@example.com", "user2@example.com", "user3@example.com"), new HashSet<>(emails));
+    }
+
+    @Test
+    @DisplayName("Should return pages in ID order")
+    void findPage_ShouldReturnUsersInIdOrder() {
+        // Given
+        List<UUID> expectedIds = new ArrayList<>(saveUsers(userRepository, 25).stream().map(User::getId).toList());
+        expectedIds.sort(UserRepository.ID_ORDER);
+
+        // When
+        List<User> firstPage = userRepository.findPage(null, 10);
+        List<User> secondPage = userRepository.findPage(firstPage.get(9).getId(), 10);
+
+        // Then
+        assertEquals(expectedIds.subList(0, 10), firstPage.stream().map(User::getId).toList());
+        assertEquals(expectedIds.subList(10, 20), secondPage.stream().map(User::getId).toList());
+    }
+
+    @Test
+    @DisplayName("Should recover state from journal and snapshots after restart")
+    void restart_ShouldRecoverState() {
+        // Given
+        userRepository.destroy();
+        userRepository = open(10);
+        List<User> users = saveUsers(userRepository, 35);
+        userRepository.deleteById(users.get(0).getId());
+        User renamed = users.get(1);
+        renamed.setName("Renamed");
+        userRepository.save(renamed);
+
+        // When
+        userRepository.destroy();
+        userRepository = open(10);
+
+        // Then
+        assertEquals(34, userRepository.count());
+        assertFalse(userRepository.existsById(users.get(0).getId()));
+        assertEquals("Renamed", userRepository.findById(renamed.getId()).orElseThrow().getName());
+        assertThrows(DataIntegrityViolationException.class,
+            () -> userRepository.save(new User("Duplicate", users.get(2).getEmail())));
+    }
+
+    @Test
+    @DisplayName("Should recover an empty store after deleteAll")
+    void deleteAll_ShouldBeRecovered() {
+        // Given
+        saveUsers(userRepository, 5);
+        userRepository.deleteAll();
+        userRepository.save(new User("John Doe", "john@example.com"));
+
+        // When
+        userRepository.destroy();
+        userRepository = open(1000);
+
+        // Then
+        assertEquals(1, userRepository.count());
+        assertEquals("john@example.com", userRepository.findAll().get(0).getEmail());
+    }
+
+    private InMemoryUserRepository open(int snapshotEvery) {
+        return new InMemoryUserRepository(directory, 64 * 1024, snapshotEvery, false);
+    }
+
+    private static List<User> saveUsers(UserRepository userRepository, int count) {
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            users.add(userRepository.save(new User("User " + i, "user" + i + "@example.com")));
+        }
+        return users;
+    }
+}
@@ -0,0 +1,154 @@
+package example.repository;
+
+import example.entity.User;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("ShardedUserRepository Tests")
+class ShardedUserRepositoryTest {
+
+    private static final int SHARDS = 3;
+
+    private ShardedUserRepository userRepository;
+
+    @BeforeEach
+    void setUp() {
+        String prefix = "sharded_test_" + UUID.randomUUID().toString().replace("-", "");
+        List<DataSource> dataSources = new ArrayList<>();
+        for (int i = 0; i < SHARDS; i++) {
+            dataSources.add(new DriverManagerDataSource("jdbc:h2:mem:" + prefix + "_" + i + ";DB_CLOSE_DELAY=-1", "sa", ""));
+        }
+        userRepository = new ShardedUserRepository(dataSources, Runnable::run);
+    }
+
+    @AfterEach
+    void tearDown() {
+        userRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Should spread users over shards and find them by ID")
+    void save_ShouldRouteUsersToShards() {
+        // Given
+        List<User> saved = saveUsers(30);
+
+        // When & Then
+        assertEquals(30, userRepository.count());
+        assertEquals(SHARDS, saved.stream().map(user -> userRepository.shardIndex(user.getId())).distinct().count());
+        for (User user : saved) {
+            User found = userRepository.findById(user.getId()).orElseThrow();
+            assertEquals(user.getName(), found.getName());
+            assertEquals(user.getEmail(), found.getEmail());
+            assertTrue(userRepository.existsById(user.getId()));
+        }
+    }
+
+    @Test
+    @DisplayName("Should merge pages from all shards in ID order")
+    void findPage_ShouldMergeShardsInIdOrder() {
+        // Given
+        List<UUID> expectedIds = new ArrayList<>(saveUsers(25).stream().map(User::getId).toList());
+        expectedIds.sort(UserRepository.ID_ORDER);
+
+        // When
+        List<UUID> pagedIds = new ArrayList<>();
+        UUID after = null;
+        List<User> page;
+        do {
+            page = userRepository.findPage(after, 10);
+            page.forEach(user -> pagedIds.add(user.getId()));
+            after = page.isEmpty() ? after : page.get(page.size() - 1).getId();
+        } while (page.size() == 10);
+
+        // Then
+        assertEquals(expectedIds, pagedIds);
+        assertEquals(expectedIds, userRepository.findAll().stream().map(User::getId).toList());
+    }
+
+    @Test
+    @DisplayName("Should enforce email uniqueness across shards")
+    void save_WhenEmailTaken_ShouldThrowException() {
+        // Given
+        userRepository.save(new User("John Doe", "john@example.com"));
+
+        // When & Then
+        for (int i = 0; i < 10; i++) {
+            assertThrows(DataIntegrityViolationException.class,
+                () -> userRepository.save(new User("Other John", "john@example.com")));
+        }
+        assertEquals(1, userRepository.count());
+    }
+
+    @Test
+    @DisplayName("Should release emails on update and delete")
+    void updateAndDelete_ShouldReleaseEmails() {
+        // Given
+        User user = userRepository.save(new User("John Doe", "john@example.com"));
+
+        // When
+        user.setEmail("john.doe@example.com");
+        userRepository.save(user);
+        User other = userRepository.save(new User("Other John", "john@example.com"));
+        userRepository.deleteById(user.getId());
+        userRepository.save(new User("Another John", "john.doe@example.com"));
+
+        // Then
+        assertFalse(userRepository.existsById(user.getId()));
+        assertTrue(userRepository.existsById(other.getId()));
+        assertEquals(2, userRepository.count());
+    }
+
+    @Test
+    @DisplayName("Should find users by their current email")
+    void findByEmail_ShouldFollowEmailChanges() {
+        // Given
+        User user = userRepository.save(new User("John Doe", "john@example.com"));
+
+        // When
+        user.setEmail("john.doe@example.com");
+        userRepository.save(user);
+
+        // Then
+        assertEquals(user.getId(), userRepository.findByEmail("john.doe@example.com").orElseThrow().getId());
+        assertTrue(userRepository.findByEmail("john@example.com").isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should return the emails of all users")
+    void findAllEmails_ShouldReturnCurrentEmails() {
+        // Given
+        List<User> users = saveUsers(4);
+        User renamed = users.get(0);
+        renamed.setEmail("renamed@example.com");
+        userRepository.save(renamed);
+        userRepository.deleteById(users.get(1).getId());
+
+        // When
+        List<String> emails = userRepository.findAllEmails();
+
+        // Then
+        assertEquals(3, emails.size());
+        assertEquals(Set.of("renamed@example.com", "user2@example.com", "user3@example.com"), new HashSet<>(emails));
+    }
+
+    private List<User> saveUsers(int count) {
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            users.add(userRepository.save(new User("User " + i, "user" + i + "@example.com")));
+        }
+        return users;
+    }
+}
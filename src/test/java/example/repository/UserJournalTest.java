@@ -0,0 +1,112 @@
+package example.repository;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("UserJournal Tests")
+class UserJournalTest {
+
+    private static final UUID FIRST = new UUID(0, 1);
+    private static final UUID SECOND = new UUID(0, 2);
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("Should replay every journal written since the last snapshot")
+    void recover_WhenSnapshotMissing_ShouldReplayAllJournals() throws IOException {
+        // Given
+        UserJournal journal = open(new HashMap<>());
+        journal.appendPut(FIRST, data("first"));
+        journal.roll();
+        journal.appendPut(SECOND, data("second"));
+        journal.roll();
+        journal.appendDelete(FIRST);
+        journal.close();
+
+        // When
+        Map<UUID, String> state = new HashMap<>();
+        open(state).close();
+
+        // Then
+        assertEquals(Map.of(SECOND, "second"), state);
+    }
+
+    @Test
+    @DisplayName("Should replace the journals covered by a snapshot")
+    void snapshot_ShouldDeleteReplacedJournals() throws IOException {
+        // Given
+        UserJournal journal = open(new HashMap<>());
+        journal.appendPut(FIRST, data("first"));
+        long generation = journal.roll();
+        journal.appendPut(SECOND, data("second"));
+
+        // When
+        journal.snapshot(generation, Map.of(FIRST, data("first")));
+        journal.close();
+
+        // Then
+        assertFalse(Files.exists(directory.resolve("users-" + generation + ".journal")));
+        Map<UUID, String> state = new HashMap<>();
+        open(state).close();
+        assertEquals(Map.of(FIRST, "first", SECOND, "second"), state);
+    }
+
+    @Test
+    @DisplayName("Should recover the latest state when the snapshot saw newer changes")
+    void recover_WhenSnapshotContainsNewerChanges_ShouldReplayThemAgain() throws IOException {
+        // Given
+        UserJournal journal = open(new HashMap<>());
+        journal.appendPut(FIRST, data("first"));
+        journal.appendPut(SECOND, data("second"));
+        long generation = journal.roll();
+        journal.appendPut(FIRST, data("renamed"));
+        journal.appendDelete(SECOND);
+        journal.appendPut(SECOND, data("recreated"));
+
+        // When: the snapshot read FIRST after its change, and SECOND while deleted
+        journal.snapshot(generation, Map.of(FIRST, data("renamed")));
+        journal.close();
+
+        // Then
+        Map<UUID, String> state = new HashMap<>();
+        open(state).close();
+        assertEquals(Map.of(FIRST, "renamed", SECOND, "recreated"), state);
+    }
+
+    private UserJournal open(Map<UUID, String> state) throws IOException {
+        UserJournal journal = new UserJournal(directory, 4096, false);
+        journal.recover(new UserJournal.Listener() {
+            @Override
+            public void put(UUID id, byte[] data) {
+                state.put(id, new String(data, StandardCharsets.UTF_8));
+            }
+
+            @Override
+            public void delete(UUID id) {
+                state.remove(id);
+            }
+
+            @Override
+            public void clear() {
+                state.clear();
+            }
+        });
+        return journal;
+    }
+
+    private static byte[] data(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,56 @@
+package example.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("EmailBloomFilter Tests")
+class EmailBloomFilterTest {
+
+    @Test
+    @DisplayName("Should contain every added email")
+    void mightContain_WhenAdded_ShouldReturnTrue() {
+        // Given
+        EmailBloomFilter filter = new EmailBloomFilter(10_000, 0.01);
+
+        // When
+        for (int i = 0; i < 10_000; i++) {
+            filter.add("user" + i + "@example.com");
+        }
+
+        // Then
+        for (int i = 0; i < 10_000; i++) {
+            assertTrue(filter.mightContain("user" + i + "@example.com"));
+        }
+    }
+
+    @Test
+    @DisplayName("Should keep false positives near the configured rate")
+    void mightContain_WhenNotAdded_ShouldRarelyReturnTrue() {
+        // Given
+        EmailBloomFilter filter = new EmailBloomFilter(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.add("user" + i + "@example.com");
+        }
+
+        // When
+        int falsePositives = 0;
+        for (int i = 0; i < 10_000; i++) {
+            if (filter.mightContain("other" + i + "@example.org")) {
+                falsePositives++;
+            }
+        }
+
+        // Then
+        assertTrue(falsePositives < 200, "False positives: " + falsePositives);
+    }
+
+    @Test
+    @DisplayName("Should reject invalid sizing")
+    void constructor_WhenSizingInvalid_ShouldThrowException() {
+        // When & Then
+        assertThrows(IllegalArgumentException.class, () -> new EmailBloomFilter(0, 0.01));
+        assertThrows(IllegalArgumentException.class, () -> new EmailBloomFilter(100, 1.0));
+    }
+}
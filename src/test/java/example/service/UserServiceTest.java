@@ -6,8 +6,10 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.util.Arrays;
@@ -26,6 +28,9 @@ class UserServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Spy
+    private EmailBloomFilter emailFilter = new EmailBloomFilter(1000, 0.01);
+
     @InjectMocks
     private UserService userService;
 
@@ -76,6 +81,35 @@ class UserServiceTest {
         verify(userRepository, times(1)).findAll();
     }
 
+    @Test
+    @DisplayName("Should return all users when not paginated")
+    void getUsers_WhenNotPaginated_ShouldReturnAllUsers() {
+        // Given
+        List<User> expectedUsers = Arrays.asList(testUser, testUser2);
+        when(userRepository.findAll()).thenReturn(expectedUsers);
+
+        // When
+        List<User> actualUsers = userService.getUsers(null, null);
+
+        // Then
+        assertEquals(expectedUsers, actualUsers);
+        verify(userRepository, never()).findPage(any(), anyInt());
+    }
+
+    @Test
+    @DisplayName("Should return a page of users")
+    void getUsers_WhenPaginated_ShouldReturnPage() {
+        // Given
+        when(userRepository.findPage(testUserId, 10)).thenReturn(List.of(testUser2));
+
+        // When
+        List<User> actualUsers = userService.getUsers(testUserId, 10);
+
+        // Then
+        assertEquals(List.of(testUser2), actualUsers);
+        verify(userRepository, never()).findAll();
+    }
+
     @Test
     @DisplayName("Should return user when user exists")
     void getUserById_WhenUserExists_ShouldReturnUser() {
@@ -129,6 +163,94 @@ class UserServiceTest {
         verify(userRepository, times(1)).save(any(User.class));
     }
 
+    @Test
+    @DisplayName("Should not look up emails the filter has not seen")
+    void createUser_WhenEmailIsNew_ShouldSkipLookup() {
+        // Given
+        when(userRepository.save(any(User.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        User result = userService.createUser("New User", "newuser@example.com");
+
+        // Then
+        assertEquals("newuser@example.com", result.getEmail());
+        assertTrue(emailFilter.mightContain("newuser@example.com"));
+        verify(userRepository, never()).findByEmail(any());
+    }
+
+    @Test
+    @DisplayName("Should reject taken email without saving")
+    void createUser_WhenEmailIsTaken_ShouldThrowException() {
+        // Given
+        emailFilter.add("john@example.com");
+        when(userRepository.findByEmail("john@example.com")).thenReturn(Optional.of(testUser));
+
+        // When & Then
+        EmailTakenException exception = assertThrows(EmailTakenException.class,
+            () -> userService.createUser("Other John", "john@example.com"));
+
+        assertEquals("Email already in use", exception.getMessage());
+        assertEquals(0, exception.getStackTrace().length);
+        verify(userRepository, never()).save(any(User.class));
+    }
+
+    @Test
+    @DisplayName("Should save when a filter match is not confirmed")
+    void createUser_WhenFilterMatchIsNotConfirmed_ShouldSaveUser() {
+        // Given
+        emailFilter.add("deleted@example.com");
+        when(userRepository.findByEmail("deleted@example.com")).thenReturn(Optional.empty());
+        when(userRepository.save(any(User.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        User result = userService.createUser("New User", "deleted@example.com");
+
+        // Then
+        assertEquals("deleted@example.com", result.getEmail());
+        verify(userRepository, times(1)).save(any(User.class));
+    }
+
+    @Test
+    @DisplayName("Should report email taken when the store rejects a concurrent duplicate")
+    void createUser_WhenStoreRejectsDuplicate_ShouldThrowEmailTaken() {
+        // Given
+        when(userRepository.save(any(User.class))).thenThrow(new DataIntegrityViolationException("duplicate"));
+        when(userRepository.findByEmail("john@example.com")).thenReturn(Optional.of(testUser));
+
+        // When & Then
+        assertThrows(EmailTakenException.class, () -> userService.createUser("Other John", "john@example.com"));
+    }
+
+    @Test
+    @DisplayName("Should not check the email of an update that keeps it")
+    void updateUser_WhenEmailUnchanged_ShouldSkipEmailCheck() {
+        // Given
+        emailFilter.add("john@example.com");
+        when(userRepository.findById(testUserId)).thenReturn(Optional.of(testUser));
+        when(userRepository.save(any(User.class))).thenReturn(testUser);
+
+        // When
+        User result = userService.updateUser(testUserId, "John Smith", "john@example.com");
+
+        // Then
+        assertEquals("John Smith", result.getName());
+        verify(userRepository, never()).findByEmail(any());
+    }
+
+    @Test
+    @DisplayName("Should reject update to another user's email")
+    void updateUser_WhenEmailIsTaken_ShouldThrowException() {
+        // Given
+        emailFilter.add("jane@example.com");
+        when(userRepository.findById(testUserId)).thenReturn(Optional.of(testUser));
+        when(userRepository.findByEmail("jane@example.com")).thenReturn(Optional.of(testUser2));
+
+        // When & Then
+        assertThrows(EmailTakenException.class,
+            () -> userService.updateUser(testUserId, "John Doe", "jane@example.com"));
+        verify(userRepository, never()).save(any(User.class));
+    }
+
     @Test
     @DisplayName("Should update existing user")
     void updateUser_WhenUserExists_ShouldUpdateUser() {
@@ -161,10 +283,11 @@ class UserServiceTest {
         when(userRepository.findById(nonExistentId)).thenReturn(Optional.empty());
 
         // When & Then
-        RuntimeException exception = assertThrows(RuntimeException.class, 
+        UserNotFoundException exception = assertThrows(UserNotFoundException.class,
             () -> userService.updateUser(nonExistentId, name, email));
         
         assertEquals("User not found", exception.getMessage());
+        assertEquals(0, exception.getStackTrace().length);
         verify(userRepository, times(1)).findById(nonExistentId);
         verify(userRepository, never()).save(any(User.class));
     }